@@ -1,15 +1,19 @@
 package io.github.songminkyu.account.client;
 
+import static io.github.songminkyu.account.constants.Constants.APPLICATION_SMILE_VALUE;
+
 import io.github.songminkyu.account.dto.CardDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "card", fallback = CardFallback.class)
+@FeignClient(name = "card", fallback = CardFallback.class, configuration = SmileFeignConfiguration.class)
 public interface CardFeignClient {
 
-    @GetMapping(value = "/api/card", consumes = "application/json")
+    @GetMapping(value = "/api/card", consumes = "application/json",
+        produces = {APPLICATION_SMILE_VALUE, MediaType.APPLICATION_JSON_VALUE})
     CardDTO fetchCardDetails(
         @RequestHeader("X-Correlation-Id") String correlationId,
         @RequestParam String mobileNumber);
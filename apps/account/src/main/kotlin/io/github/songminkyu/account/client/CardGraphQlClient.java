@@ -1,24 +1,88 @@
 package io.github.songminkyu.account.client;
 
 import io.github.songminkyu.account.dto.CardDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import org.springframework.graphql.client.ClientGraphQlResponse;
 import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.graphql.support.ResourceDocumentSource;
 import org.springframework.stereotype.Component;
 
+/**
+ * Calls card over GraphQL using automatic persisted queries: only the SHA-256 hash of the
+ * document is sent, and the full text follows only when card answers {@code PersistedQueryNotFound}.
+ */
 @Component
 public class CardGraphQlClient {
 
+    private static final String CARD_DETAILS_DOCUMENT = "getCardDetails";
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_METRIC_NAME = "graphql.client.persisted-query";
+
     private final HttpGraphQlClient client;
+    private final String cardDetailsDocument;
+    private final Map<String, Object> cardDetailsPersistedQuery;
+    private final Counter persistedQueryHits;
+    private final Counter persistedQueryMisses;
 
-    public CardGraphQlClient(HttpGraphQlClient.Builder<?> httpGraphQlClientBuilder) {
+    public CardGraphQlClient(
+        HttpGraphQlClient.Builder<?> httpGraphQlClientBuilder,
+        MeterRegistry meterRegistry) {
         client = httpGraphQlClientBuilder.url("http://card/graphql")
             .build();
+        cardDetailsDocument = new ResourceDocumentSource()
+            .getDocument(CARD_DETAILS_DOCUMENT)
+            .block();
+        cardDetailsPersistedQuery = Map.of(
+            "version", 1,
+            "sha256Hash", sha256(cardDetailsDocument));
+        persistedQueryHits = Counter.builder(PERSISTED_QUERY_METRIC_NAME)
+            .tag("outcome", "hit")
+            .description("Number of GraphQL calls answered from the hash alone")
+            .register(meterRegistry);
+        persistedQueryMisses = Counter.builder(PERSISTED_QUERY_METRIC_NAME)
+            .tag("outcome", "miss")
+            .description("Number of GraphQL calls that had to resend the full document")
+            .register(meterRegistry);
     }
 
     public CardDTO fetchCardDetails(String mobileNumber) {
-        return client.documentName("getCardDetails")
+        var response = execute("", mobileNumber);
+        if (isPersistedQueryNotFound(response)) {
+            persistedQueryMisses.increment();
+            response = execute(cardDetailsDocument, mobileNumber);
+        } else {
+            persistedQueryHits.increment();
+        }
+        return response.field("card")
+            .toEntity(CardDTO.class);  // possibly also generated or imported if available
+    }
+
+    private ClientGraphQlResponse execute(String document, String mobileNumber) {
+        return client.document(document)
+            .extension("persistedQuery", cardDetailsPersistedQuery)
             .variable("mobileNumber", mobileNumber)
-            .retrieve("card")
-            .toEntity(CardDTO.class)  // possibly also generated or imported if available
+            .execute()
             .block();
     }
+
+    private static boolean isPersistedQueryNotFound(ClientGraphQlResponse response) {
+        return response.getErrors().stream()
+            .anyMatch(error -> PERSISTED_QUERY_NOT_FOUND.equals(error.getMessage()));
+    }
+
+    private static String sha256(String document) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                .digest(document.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,165 @@
+package io.github.songminkyu.account.client;
+
+import io.github.songminkyu.account.config.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Stale-while-revalidate cache for downstream DTOs keyed by mobile number.
+ *
+ * <p>Fresh entries are served without a remote call. Stale entries are served immediately
+ * while a single background refresh per key runs. When the downstream fails, or its Feign
+ * fallback answers with nothing, the last known entry is served regardless of age. The age
+ * of the served entry is written to the current response as {@code X-<Name>-Age} in seconds.</p>
+ */
+@Slf4j
+public class DownstreamResponseCache<T> {
+
+    private static final String REQUESTS_METRIC_NAME = "downstream.cache.requests";
+    private static final String STALENESS_METRIC_NAME = "downstream.cache.staleness";
+    private static final String SIZE_METRIC_NAME = "downstream.cache.size";
+
+    private final String name;
+    private final String ageHeader;
+    private final CacheProperties.Downstream properties;
+    private final Executor refreshExecutor;
+    private final Map<String, Entry<T>> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter miss;
+    private final Counter fallback;
+    private final DistributionSummary staleness;
+
+    public DownstreamResponseCache(
+        String name,
+        CacheProperties.Downstream properties,
+        Executor refreshExecutor,
+        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ageHeader = "X-" + StringUtils.capitalize(name) + "-Age";
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        });
+        this.fresh = counter(meterRegistry, "fresh");
+        this.stale = counter(meterRegistry, "stale");
+        this.miss = counter(meterRegistry, "miss");
+        this.fallback = counter(meterRegistry, "fallback");
+        this.staleness = DistributionSummary.builder(STALENESS_METRIC_NAME)
+            .tag("cache", name)
+            .baseUnit("seconds")
+            .description("Age of stale entries served instead of a downstream response")
+            .register(meterRegistry);
+        Gauge.builder(SIZE_METRIC_NAME, entries, Map::size)
+            .tag("cache", name)
+            .description("Number of cached downstream responses")
+            .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC_NAME)
+            .tag("cache", name)
+            .tag("result", result)
+            .description("Downstream response cache lookups")
+            .register(meterRegistry);
+    }
+
+    public T get(String key, Supplier<T> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        var entry = entries.get(key);
+        if (entry != null) {
+            long age = now - entry.storedAt();
+            if (age < properties.getTimeToLive()) {
+                fresh.increment();
+                writeAge(age);
+                return entry.value();
+            }
+            if (age < properties.getMaxStale()) {
+                stale.increment();
+                staleness.record(age / 1000d);
+                writeAge(age);
+                refreshAsync(key, loader);
+                return entry.value();
+            }
+        }
+        miss.increment();
+        T loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            // stale-if-error for callers without a Feign fallback, such as card over GraphQL
+            var last = lastKnown(key, now);
+            if (last == null) {
+                throw e;
+            }
+            return last;
+        }
+        if (loaded == null) {
+            // the Feign fallback answered, the downstream did not
+            return lastKnown(key, now);
+        }
+        entries.put(key, new Entry<>(loaded, now));
+        writeAge(0);
+        return loaded;
+    }
+
+    private T lastKnown(String key, long now) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        fallback.increment();
+        staleness.record((now - entry.storedAt()) / 1000d);
+        writeAge(now - entry.storedAt());
+        return entry.value();
+    }
+
+    private void refreshAsync(String key, Supplier<T> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                var loaded = loader.get();
+                if (loaded != null) {
+                    entries.put(key, new Entry<>(loaded, System.currentTimeMillis()));
+                }
+            } catch (RuntimeException e) {
+                log.debug("Background refresh of {} for {} failed", name, key, e);
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private void writeAge(long ageMillis) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+            && attributes.getResponse() != null) {
+            attributes.getResponse().setHeader(ageHeader, String.valueOf(ageMillis / 1000));
+        }
+    }
+
+    private record Entry<T>(T value, long storedAt) {
+    }
+}
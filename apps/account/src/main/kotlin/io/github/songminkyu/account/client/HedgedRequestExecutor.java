@@ -0,0 +1,226 @@
+package io.github.songminkyu.account.client;
+
+import io.github.songminkyu.account.config.HedgingProperties;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hedges idempotent downstream reads: when the primary call has not answered within the
+ * observed latency percentile, a second identical call is sent and the first successful
+ * response wins; the losing attempt is then cancelled, interrupting its thread so the
+ * connection is released. The load balancer picks the instance for the hedge independently.
+ * Hedges are capped by a token budget refilled by a percentage of primary calls.
+ */
+@Slf4j
+public class HedgedRequestExecutor implements AutoCloseable {
+
+    private static final String LATENCY_METRIC_NAME = "hedging.latency";
+    private static final String REQUESTS_METRIC_NAME = "hedging.requests";
+    private static final long TOKEN_SCALE = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN_SCALE;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties hedgingProperties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<String, ClientState> clients = new ConcurrentHashMap<>();
+
+    public HedgedRequestExecutor(HedgingProperties hedgingProperties, MeterRegistry meterRegistry) {
+        this.hedgingProperties = hedgingProperties;
+        this.meterRegistry = meterRegistry;
+        this.executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(),
+            ContextSnapshotFactory.builder().build()::captureAll);
+    }
+
+    public <T> T execute(String client, Supplier<T> call) {
+        if (!hedgingProperties.isEnabled()) {
+            return call.get();
+        }
+        var state = clients.computeIfAbsent(client, ClientState::new);
+        state.deposit();
+        var primary = state.timed(call);
+        long delay = state.hedgeDelay();
+        if (delay <= 0) {
+            return await(primary);
+        }
+        try {
+            return primary.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return hedge(state, primary, call);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private <T> T hedge(ClientState state, CompletableFuture<T> primary, Supplier<T> call) {
+        if (!state.tryWithdraw()) {
+            state.budgetExhausted.increment();
+            return await(primary);
+        }
+        state.sent.increment();
+        log.debug("Hedging {} call after {} ms", state.client, state.delay);
+        var hedge = state.timed(call);
+        var result = new CompletableFuture<T>();
+        var pending = new AtomicInteger(2);
+        primary.whenComplete((value, error) -> settle(result, pending, value, error, null));
+        hedge.whenComplete((value, error) -> settle(result, pending, value, error, state.won));
+        result.whenComplete((value, error) -> {
+            primary.cancel(true);
+            hedge.cancel(true);
+        });
+        return await(result);
+    }
+
+    private static <T> void settle(
+        CompletableFuture<T> result, AtomicInteger pending, T value, Throwable error, Counter won) {
+        if (error == null) {
+            if (result.complete(value) && won != null) {
+                won.increment();
+            }
+        } else if (pending.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof CompletionException completion && completion.getCause() != null) {
+            cause = completion.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private final class ClientState {
+
+        private final String client;
+        private final Timer latency;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter budgetExhausted;
+        private final AtomicLong tokens = new AtomicLong();
+        private final long tokensPerRequest;
+        private volatile long delay;
+        private volatile long delayComputedAt;
+
+        private ClientState(String client) {
+            this.client = client;
+            this.latency = Timer.builder(LATENCY_METRIC_NAME)
+                .tag("client", client)
+                .publishPercentiles(hedgingProperties.getPercentile())
+                .description("Latency of individual downstream attempts used to derive the hedge delay")
+                .register(meterRegistry);
+            this.sent = counter("sent", "Number of hedge requests sent");
+            this.won = counter("won", "Number of hedge requests that answered first");
+            this.budgetExhausted = counter("budget_exhausted", "Number of hedges skipped by the hedging budget");
+            this.tokensPerRequest = Math.round(hedgingProperties.getBudgetPercent() / 100 * TOKEN_SCALE);
+        }
+
+        private Counter counter(String event, String description) {
+            return Counter.builder(REQUESTS_METRIC_NAME)
+                .tag("client", client)
+                .tag("event", event)
+                .description(description)
+                .register(meterRegistry);
+        }
+
+        /**
+         * Runs the call on its own thread. Cancelling the returned future interrupts that thread,
+         * and a cancelled attempt is left out of the latency the hedge delay is derived from.
+         */
+        private <T> CompletableFuture<T> timed(Supplier<T> call) {
+            long start = System.nanoTime();
+            var attempt = new CompletableFuture<T>();
+            Future<?> task = executor.submit(() -> {
+                try {
+                    attempt.complete(call.get());
+                } catch (Throwable e) {
+                    attempt.completeExceptionally(e);
+                }
+            });
+            attempt.whenComplete((value, error) -> {
+                if (attempt.isCancelled()) {
+                    task.cancel(true);
+                } else {
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+            return attempt;
+        }
+
+        private long hedgeDelay() {
+            long now = System.nanoTime();
+            if (delay == 0 || now - delayComputedAt >= DELAY_REFRESH_NANOS) {
+                delayComputedAt = now;
+                delay = computeDelay();
+            }
+            return delay;
+        }
+
+        private long computeDelay() {
+            if (latency.count() < hedgingProperties.getMinSamples()) {
+                return 0;
+            }
+            for (var percentile : latency.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == hedgingProperties.getPercentile()) {
+                    long observed = Math.round(percentile.value(TimeUnit.MILLISECONDS));
+                    return Math.clamp(observed, hedgingProperties.getMinDelay(), hedgingProperties.getMaxDelay());
+                }
+            }
+            return 0;
+        }
+
+        private void deposit() {
+            tokens.accumulateAndGet(tokensPerRequest, (current, deposit) -> Math.min(MAX_TOKENS, current + deposit));
+        }
+
+        private boolean tryWithdraw() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current < TOKEN_SCALE) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+            return true;
+        }
+    }
+}
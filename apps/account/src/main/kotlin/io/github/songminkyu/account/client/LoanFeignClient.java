@@ -1,15 +1,19 @@
 package io.github.songminkyu.account.client;
 
+import static io.github.songminkyu.account.constants.Constants.APPLICATION_SMILE_VALUE;
+
 import io.github.songminkyu.account.dto.LoanDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "loan", fallback = LoanFallback.class)
+@FeignClient(name = "loan", fallback = LoanFallback.class, configuration = SmileFeignConfiguration.class)
 public interface LoanFeignClient {
 
-    @GetMapping(value = "/api/loan", consumes = "application/json")
+    @GetMapping(value = "/api/loan", consumes = "application/json",
+        produces = {APPLICATION_SMILE_VALUE, MediaType.APPLICATION_JSON_VALUE})
     LoanDTO fetchLoanDetails(
         @RequestHeader("X-Correlation-Id") String correlationId,
         @RequestParam String mobileNumber);
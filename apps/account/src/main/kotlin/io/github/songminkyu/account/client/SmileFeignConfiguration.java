@@ -0,0 +1,86 @@
+package io.github.songminkyu.account.client;
+
+import feign.FeignException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Feign client configuration for clients that accept {@code application/x-jackson-smile}.
+ *
+ * <p>Deliberately not a {@code @Configuration}: it is only applied to the clients that name it
+ * in {@code @FeignClient(configuration = ...)}, and the Smile converter lives in their decoder
+ * alone, so neither the other Feign clients nor this service's own MVC endpoints see it.
+ * Requests keep the default encoder because these clients only send JSON.</p>
+ */
+public class SmileFeignConfiguration {
+
+    @Bean
+    Decoder smileFeignDecoder() {
+        var converters = List.<HttpMessageConverter<?>>of(
+            new JacksonSmileHttpMessageConverter(), new JacksonJsonHttpMessageConverter());
+        return new OptionalDecoder(new ResponseEntityDecoder(new ConverterDecoder(converters)));
+    }
+
+    private record ConverterDecoder(List<HttpMessageConverter<?>> converters) implements Decoder {
+
+        @Override
+        public Object decode(Response response, Type type) throws IOException, FeignException {
+            try {
+                return new HttpMessageConverterExtractor<>(type, converters)
+                    .extractData(new FeignClientHttpResponse(response));
+            } catch (RestClientException ex) {
+                throw new DecodeException(response.status(), ex.getMessage(), response.request(), ex);
+            }
+        }
+    }
+
+    private record FeignClientHttpResponse(Response response) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.status());
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.reason();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.body() == null ? InputStream.nullInputStream() : response.body().asInputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            var headers = new HttpHeaders();
+            for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+                headers.addAll(header.getKey(), List.copyOf(header.getValue()));
+            }
+            return headers;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
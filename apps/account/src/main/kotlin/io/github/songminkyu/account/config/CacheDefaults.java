@@ -0,0 +1,16 @@
+package io.github.songminkyu.account.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CacheDefaults {
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Downstream {
+        public static final boolean ENABLED = true;
+        public static final int MAX_ENTRIES = 10000;
+        public static final long TIME_TO_LIVE = 30000;
+        public static final long MAX_STALE = 600000;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class CacheProperties {
 
     private Redisson redisson = new Redisson();
+    private Downstream downstream = new Downstream();
 
     @Getter
     @Setter
@@ -31,4 +32,13 @@ public class CacheProperties {
             }
         }
     }
+
+    @Getter
+    @Setter
+    public static class Downstream {
+        private boolean enabled = CacheDefaults.Downstream.ENABLED;
+        private int maxEntries = CacheDefaults.Downstream.MAX_ENTRIES;
+        private long timeToLive = CacheDefaults.Downstream.TIME_TO_LIVE;
+        private long maxStale = CacheDefaults.Downstream.MAX_STALE;
+    }
 }
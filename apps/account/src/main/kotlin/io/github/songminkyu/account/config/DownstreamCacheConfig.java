@@ -0,0 +1,43 @@
+package io.github.songminkyu.account.config;
+
+import io.github.songminkyu.account.client.DownstreamResponseCache;
+import io.github.songminkyu.account.dto.CardDTO;
+import io.github.songminkyu.account.dto.LoanDTO;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheProperties.class)
+public class DownstreamCacheConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService downstreamRefreshExecutor() {
+        return ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(),
+            ContextSnapshotFactory.builder().build()::captureAll);
+    }
+
+    @Bean
+    public DownstreamResponseCache<LoanDTO> loanResponseCache(
+        CacheProperties cacheProperties,
+        ExecutorService downstreamRefreshExecutor,
+        MeterRegistry meterRegistry) {
+        return new DownstreamResponseCache<>(
+            "loan", cacheProperties.getDownstream(), downstreamRefreshExecutor, meterRegistry);
+    }
+
+    @Bean
+    public DownstreamResponseCache<CardDTO> cardResponseCache(
+        CacheProperties cacheProperties,
+        ExecutorService downstreamRefreshExecutor,
+        MeterRegistry meterRegistry) {
+        return new DownstreamResponseCache<>(
+            "card", cacheProperties.getDownstream(), downstreamRefreshExecutor, meterRegistry);
+    }
+}
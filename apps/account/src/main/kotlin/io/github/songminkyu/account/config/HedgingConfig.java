@@ -0,0 +1,19 @@
+package io.github.songminkyu.account.config;
+
+import io.github.songminkyu.account.client.HedgedRequestExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+
+    @Bean
+    public HedgedRequestExecutor hedgedRequestExecutor(
+        HedgingProperties hedgingProperties,
+        MeterRegistry meterRegistry) {
+        return new HedgedRequestExecutor(hedgingProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.songminkyu.account.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HedgingDefaults {
+    public static final boolean ENABLED = false;
+    public static final double PERCENTILE = 0.95;
+    public static final long MIN_DELAY = 50;
+    public static final long MAX_DELAY = 2000;
+    public static final long MIN_SAMPLES = 100;
+    public static final double BUDGET_PERCENT = 10;
+}
@@ -0,0 +1,18 @@
+package io.github.songminkyu.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.hedging")
+@Getter
+@Setter
+public class HedgingProperties {
+
+    private boolean enabled = HedgingDefaults.ENABLED;
+    private double percentile = HedgingDefaults.PERCENTILE;
+    private long minDelay = HedgingDefaults.MIN_DELAY;
+    private long maxDelay = HedgingDefaults.MAX_DELAY;
+    private long minSamples = HedgingDefaults.MIN_SAMPLES;
+    private double budgetPercent = HedgingDefaults.BUDGET_PERCENT;
+}
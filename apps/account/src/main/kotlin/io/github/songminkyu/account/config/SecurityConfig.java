@@ -5,6 +5,8 @@ import static org.springframework.boot.autoconfigure.security.servlet.PathReques
 import io.github.songminkyu.account.exception.security.SecurityProblemSupport;
 import io.github.songminkyu.account.security.AuthoritiesConstants;
 import io.github.songminkyu.account.security.oauth2.JwtGrantedAuthorityConverter;
+import io.github.songminkyu.common.security.internal.InternalIdentityAuthenticationFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -19,6 +21,7 @@ import org.springframework.security.config.annotation.web.configurers.HeadersCon
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
@@ -39,7 +42,10 @@ public class SecurityConfig {
         HttpSecurity http,
         MvcRequestMatcher.Builder mvc,
         Converter<Jwt, AbstractAuthenticationToken> authenticationConverter,
-        SecurityProblemSupport problemSupport) throws Exception {
+        SecurityProblemSupport problemSupport,
+        ObjectProvider<InternalIdentityAuthenticationFilter> internalIdentityAuthenticationFilter) throws Exception {
+        internalIdentityAuthenticationFilter.ifAvailable(
+            filter -> http.addFilterBefore(filter, BearerTokenAuthenticationFilter.class));
         http
             .csrf(AbstractHttpConfigurer::disable)
             .headers(headers -> headers
@@ -56,7 +62,9 @@ public class SecurityConfig {
                     .requestMatchers(mvc.pattern("/api/account/**")).hasAuthority(AuthoritiesConstants.ACCOUNT)
                     .anyRequest().authenticated())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(authenticationConverter))
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .bearerTokenResolver(InternalIdentityAuthenticationFilter.bearerTokenResolver())
+                .jwt(jwt -> jwt.jwtAuthenticationConverter(authenticationConverter))
                 .authenticationEntryPoint(problemSupport)
                 .accessDeniedHandler(problemSupport));
         return http.build();
@@ -1,8 +1,12 @@
 package io.github.songminkyu.account.service.impl;
 
 import io.github.songminkyu.account.client.CardGraphQlClient;
+import io.github.songminkyu.account.client.DownstreamResponseCache;
+import io.github.songminkyu.account.client.HedgedRequestExecutor;
 import io.github.songminkyu.account.client.LoanFeignClient;
+import io.github.songminkyu.account.dto.CardDTO;
 import io.github.songminkyu.account.dto.CustomerDetailsDTO;
+import io.github.songminkyu.account.dto.LoanDTO;
 import io.github.songminkyu.account.entity.Account;
 import io.github.songminkyu.account.entity.Customer;
 import io.github.songminkyu.account.exception.EntityNotFoundException;
@@ -22,6 +26,9 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final CardGraphQlClient cardGraphQlClient;
     private final LoanFeignClient loanFeignClient;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final DownstreamResponseCache<LoanDTO> loanResponseCache;
+    private final DownstreamResponseCache<CardDTO> cardResponseCache;
 
     private final CustomerMapper customerMapper;
 
@@ -34,9 +41,11 @@ public class CustomerServiceImpl implements CustomerService {
             () -> new EntityNotFoundException(Account.class, "customerId", customer.getCustomerId().toString())
         );
 
-        var loan = loanFeignClient.fetchLoanDetails(correlationId, mobileNumber);
+        var loan = loanResponseCache.get(mobileNumber, () -> hedgedRequestExecutor.execute("loan",
+            () -> loanFeignClient.fetchLoanDetails(correlationId, mobileNumber)));
 
-        var card = cardGraphQlClient.fetchCardDetails(mobileNumber);
+        var card = cardResponseCache.get(mobileNumber, () -> hedgedRequestExecutor.execute("card",
+            () -> cardGraphQlClient.fetchCardDetails(mobileNumber)));
 
         return customerMapper.toCustomerDetailsDTO(customer, account, loan, card);
     }
@@ -0,0 +1,82 @@
+package io.github.songminkyu.account.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.songminkyu.account.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DownstreamResponseCacheTest {
+
+    private static final String MOBILE_NUMBER = "4365327698";
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private DownstreamResponseCache<String> cache(long timeToLive) {
+        return cache(timeToLive, new CacheProperties.Downstream().getMaxStale());
+    }
+
+    private DownstreamResponseCache<String> cache(long timeToLive, long maxStale) {
+        var properties = new CacheProperties.Downstream();
+        properties.setTimeToLive(timeToLive);
+        properties.setMaxStale(maxStale);
+        return new DownstreamResponseCache<>("loan", properties, refreshes::add, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutLoading() {
+        var cache = cache(60_000);
+        cache.get(MOBILE_NUMBER, () -> "v1");
+
+        assertEquals("v1", cache.get(MOBILE_NUMBER, () -> "v2"));
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileOneRefreshRuns() {
+        var cache = cache(0);
+        cache.get(MOBILE_NUMBER, () -> "v1");
+
+        assertEquals("v1", cache.get(MOBILE_NUMBER, () -> "v2"));
+        assertEquals("v1", cache.get(MOBILE_NUMBER, () -> "v2"));
+        assertEquals(1, refreshes.size());
+
+        refreshes.getFirst().run();
+        assertEquals("v2", cache.get(MOBILE_NUMBER, () -> "v3"));
+    }
+
+    @Test
+    void testLastKnownValueIsServedOnError() {
+        // too old to be served as stale, so every lookup goes to the loader
+        var cache = cache(0, 0);
+        cache.get(MOBILE_NUMBER, () -> "v1");
+
+        assertEquals("v1", cache.get(MOBILE_NUMBER, () -> {
+            throw new IllegalStateException("card is down");
+        }));
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void testLastKnownValueIsServedWhenFallbackAnswers() {
+        var cache = cache(0, 0);
+        cache.get(MOBILE_NUMBER, () -> "v1");
+
+        assertEquals("v1", cache.get(MOBILE_NUMBER, () -> null));
+        assertEquals("v2", cache.get(MOBILE_NUMBER, () -> "v2"));
+    }
+
+    @Test
+    void testErrorIsRethrownWithoutLastKnownValue() {
+        var cache = cache(60_000);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(MOBILE_NUMBER, () -> {
+            throw new IllegalStateException("card is down");
+        }));
+        assertNull(cache.get(MOBILE_NUMBER, () -> null));
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.songminkyu.account.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.songminkyu.account.config.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class HedgedRequestExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch loserStarted = new CountDownLatch(1);
+    private final CountDownLatch loserInterrupted = new CountDownLatch(1);
+
+    private HedgedRequestExecutor executor(double budgetPercent) {
+        var properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinSamples(20);
+        properties.setMinDelay(10);
+        properties.setBudgetPercent(budgetPercent);
+        return new HedgedRequestExecutor(properties, meterRegistry);
+    }
+
+    @Test
+    void testHedgeWinsWhenPrimaryIsSlowAndPrimaryIsCancelled() throws Exception {
+        try (var executor = executor(100)) {
+            warmUp(executor);
+            var attempts = new AtomicInteger();
+
+            var result = executor.execute("loan", () -> {
+                // first attempt hits a "paused" replica, the hedge hits a healthy one
+                if (attempts.getAndIncrement() == 0) {
+                    return blockUntilInterrupted();
+                }
+                await(loserStarted);
+                return "hedge";
+            });
+
+            assertEquals("hedge", result);
+            assertEquals(1.0, counter("sent"));
+            assertEquals(1.0, counter("won"));
+            assertTrue(loserInterrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testPrimaryWinsAndHedgeIsCancelled() throws Exception {
+        try (var executor = executor(100)) {
+            warmUp(executor);
+            var attempts = new AtomicInteger();
+
+            var result = executor.execute("loan", () -> {
+                if (attempts.getAndIncrement() == 0) {
+                    // answers only once the hedge is in flight
+                    await(loserStarted);
+                    return "primary";
+                }
+                return blockUntilInterrupted();
+            });
+
+            assertEquals("primary", result);
+            assertEquals(0.0, counter("won"));
+            assertTrue(loserInterrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testBudgetCapsHedges() {
+        try (var executor = executor(0)) {
+            warmUp(executor);
+
+            var result = executor.execute("loan", () -> {
+                // answers only once the executor has decided against hedging
+                awaitCounter("budget_exhausted");
+                return "primary";
+            });
+
+            assertEquals("primary", result);
+            assertEquals(0.0, counter("sent"));
+            assertEquals(1.0, counter("budget_exhausted"));
+        }
+    }
+
+    private void warmUp(HedgedRequestExecutor executor) {
+        for (int i = 0; i < 20; i++) {
+            executor.execute("loan", () -> "warm-up");
+        }
+    }
+
+    private String blockUntilInterrupted() {
+        loserStarted.countDown();
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            loserInterrupted.countDown();
+        }
+        return "cancelled";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCounter(String event) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter(event) == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double counter(String event) {
+        return meterRegistry.get("hedging.requests").tag("event", event).counter().count();
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.songminkyu.account.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import io.github.songminkyu.account.dto.LoanDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+class SmileCodecTest {
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final SmileMapper smile = SmileMapper.builder().build();
+
+    private final LoanDTO loan = new LoanDTO(
+        "4365327698", "548732457654", "Home Loan", 100000, 1000, 99000);
+
+    @Test
+    void testSmileRoundTrip() {
+        var bytes = smile.writeValueAsBytes(loan);
+        assertEquals(loan, smile.readValue(bytes, LoanDTO.class));
+    }
+
+    @Test
+    void testSmilePayloadIsSmallerThanJson() {
+        assertTrue(smile.writeValueAsBytes(loan).length < json.writeValueAsBytes(loan).length);
+    }
+
+    @Test
+    void testFeignDecoderReadsSmileAndJson() throws Exception {
+        var decoder = new SmileFeignConfiguration().smileFeignDecoder();
+
+        assertEquals(loan, decoder.decode(response("application/x-jackson-smile", smile.writeValueAsBytes(loan)),
+            LoanDTO.class));
+        assertEquals(loan, decoder.decode(response("application/json", json.writeValueAsBytes(loan)),
+            LoanDTO.class));
+    }
+
+    private static Response response(String contentType, byte[] body) {
+        var request = Request.create(HttpMethod.GET, "/api/loan", Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+            .status(200)
+            .request(request)
+            .headers(Map.of("Content-Type", List.of(contentType)))
+            .body(body)
+            .build();
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.songminkyu.card.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AuthorizationProperties.class)
+public class AuthorizationConfig {
+}
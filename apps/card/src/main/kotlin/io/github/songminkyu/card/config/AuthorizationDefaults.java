@@ -0,0 +1,10 @@
+package io.github.songminkyu.card.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthorizationDefaults {
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final int MAX_ATTEMPTS = 3;
+}
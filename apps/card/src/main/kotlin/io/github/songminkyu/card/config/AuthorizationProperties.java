@@ -0,0 +1,14 @@
+package io.github.songminkyu.card.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.card.authorization")
+@Getter
+@Setter
+public class AuthorizationProperties {
+
+    private int maxBatchSize = AuthorizationDefaults.MAX_BATCH_SIZE;
+    private int maxAttempts = AuthorizationDefaults.MAX_ATTEMPTS;
+}
@@ -6,13 +6,27 @@ import graphql.schema.idl.SchemaDirectiveWiring;
 import graphql.validation.rules.OnValidationErrorStrategy;
 import graphql.validation.rules.ValidationRules;
 import graphql.validation.schemawiring.ValidationSchemaWiring;
+import io.github.songminkyu.card.consumer.CardChangeBroadcaster;
+import io.github.songminkyu.card.consumer.LocalCardChangeBroadcaster;
+import io.github.songminkyu.card.consumer.RedissonCardChangeBroadcaster;
 import io.github.songminkyu.card.graphql.directive.SchemaDirective;
+import io.github.songminkyu.card.graphql.instrumentation.FieldTracingInstrumentation;
+import io.github.songminkyu.card.graphql.instrumentation.OperationNames;
+import io.github.songminkyu.card.graphql.instrumentation.QueryCostInstrumentation;
+import io.github.songminkyu.card.graphql.persisted.BoundedPersistedQueryCache;
+import io.github.songminkyu.card.graphql.persisted.DocumentCachingPersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(GraphQLProperties.class)
 public class GraphQLConfig {
 
     @Bean
@@ -42,4 +56,58 @@ public class GraphQLConfig {
                 schemaDirective.getName(), schemaDirective.getDirective()));
         };
     }
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.graphql.engine.document-cache.enabled", matchIfMissing = true)
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(
+        GraphQLProperties graphQLProperties,
+        MeterRegistry meterRegistry
+    ) {
+        var cache = new BoundedPersistedQueryCache(
+            graphQLProperties.getDocumentCache().getMaxEntries(), meterRegistry);
+        var persistedQuerySupport = new DocumentCachingPersistedQuerySupport(cache);
+        return builder -> builder.configureGraphQl(
+            graphQlBuilder -> graphQlBuilder.preparsedDocumentProvider(persistedQuerySupport));
+    }
+
+    @Bean
+    public OperationNames operationNames(GraphQLProperties graphQLProperties) {
+        return new OperationNames(graphQLProperties.getCost().getMaxOperationNames());
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.graphql.engine.cost.enabled", matchIfMissing = true)
+    public QueryCostInstrumentation queryCostInstrumentation(
+        GraphQLProperties graphQLProperties,
+        OperationNames operationNames,
+        MeterRegistry meterRegistry
+    ) {
+        return new QueryCostInstrumentation(graphQLProperties.getCost(), operationNames, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.graphql.engine.tracing.enabled", matchIfMissing = true)
+    public FieldTracingInstrumentation fieldTracingInstrumentation(
+        GraphQLProperties graphQLProperties,
+        OperationNames operationNames,
+        MeterRegistry meterRegistry
+    ) {
+        return new FieldTracingInstrumentation(graphQLProperties.getTracing(), operationNames, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.graphql.engine.subscription.broadcast.enabled", matchIfMissing = true)
+    public CardChangeBroadcaster cardChangeBroadcaster(
+        GraphQLProperties graphQLProperties,
+        RedissonClient redissonClient
+    ) {
+        return new RedissonCardChangeBroadcaster(
+            redissonClient, graphQLProperties.getSubscription().getBroadcast().getTopic());
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.graphql.engine.subscription.broadcast.enabled", havingValue = "false")
+    public CardChangeBroadcaster localCardChangeBroadcaster() {
+        return new LocalCardChangeBroadcaster();
+    }
 }
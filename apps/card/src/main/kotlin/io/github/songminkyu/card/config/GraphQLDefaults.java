@@ -0,0 +1,47 @@
+package io.github.songminkyu.card.config;
+
+import io.github.songminkyu.card.config.GraphQLProperties.OverflowPolicy;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GraphQLDefaults {
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class DocumentCache {
+        public static final boolean ENABLED = true;
+        public static final int MAX_ENTRIES = 500;
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Cost {
+        public static final boolean ENABLED = true;
+        public static final int MAX_COST = 1000;
+        public static final int MAX_DEPTH = 8;
+        public static final int MAX_ALIASES = 10;
+        public static final int DEFAULT_WEIGHT = 1;
+        public static final int DEFAULT_PAGE_SIZE = 10;
+        public static final int MAX_OPERATION_NAMES = 100;
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Tracing {
+        public static final boolean ENABLED = true;
+        public static final double SAMPLE_RATE = 0.1;
+        public static final boolean INCLUDE_TRIVIAL = false;
+        public static final boolean HISTOGRAM = true;
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Subscription {
+        public static final int BUFFER_SIZE = 256;
+        public static final int REPLAY_SIZE = 1024;
+        public static final OverflowPolicy OVERFLOW_POLICY = OverflowPolicy.DROP_OLDEST;
+
+        @NoArgsConstructor(access = AccessLevel.PRIVATE)
+        public static final class Broadcast {
+            public static final boolean ENABLED = true;
+            public static final String TOPIC = "card:changes";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.songminkyu.card.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.graphql.engine")
+@Getter
+@Setter
+public class GraphQLProperties {
+
+    private DocumentCache documentCache = new DocumentCache();
+    private Cost cost = new Cost();
+    private Tracing tracing = new Tracing();
+    private Subscription subscription = new Subscription();
+
+    @Getter
+    @Setter
+    public static class DocumentCache {
+        private boolean enabled = GraphQLDefaults.DocumentCache.ENABLED;
+        private int maxEntries = GraphQLDefaults.DocumentCache.MAX_ENTRIES;
+    }
+
+    @Getter
+    @Setter
+    public static class Cost {
+        private boolean enabled = GraphQLDefaults.Cost.ENABLED;
+        private int maxCost = GraphQLDefaults.Cost.MAX_COST;
+        private int maxDepth = GraphQLDefaults.Cost.MAX_DEPTH;
+        private int maxAliases = GraphQLDefaults.Cost.MAX_ALIASES;
+        private int defaultWeight = GraphQLDefaults.Cost.DEFAULT_WEIGHT;
+        private int defaultPageSize = GraphQLDefaults.Cost.DEFAULT_PAGE_SIZE;
+        private int maxOperationNames = GraphQLDefaults.Cost.MAX_OPERATION_NAMES;
+        private Map<String, Integer> weights = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Tracing {
+        private boolean enabled = GraphQLDefaults.Tracing.ENABLED;
+        private double sampleRate = GraphQLDefaults.Tracing.SAMPLE_RATE;
+        private boolean includeTrivial = GraphQLDefaults.Tracing.INCLUDE_TRIVIAL;
+        private boolean histogram = GraphQLDefaults.Tracing.HISTOGRAM;
+    }
+
+    @Getter
+    @Setter
+    public static class Subscription {
+        private int bufferSize = GraphQLDefaults.Subscription.BUFFER_SIZE;
+        private int replaySize = GraphQLDefaults.Subscription.REPLAY_SIZE;
+        private OverflowPolicy overflowPolicy = GraphQLDefaults.Subscription.OVERFLOW_POLICY;
+        private Broadcast broadcast = new Broadcast();
+    }
+
+    @Getter
+    @Setter
+    public static class Broadcast {
+        private boolean enabled = GraphQLDefaults.Subscription.Broadcast.ENABLED;
+        private String topic = GraphQLDefaults.Subscription.Broadcast.TOPIC;
+    }
+
+    /**
+     * What happens when a subscriber's buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest buffered event to make room for the new one. */
+        DROP_OLDEST,
+        /** Terminate the subscription with an error. */
+        DISCONNECT
+    }
+}
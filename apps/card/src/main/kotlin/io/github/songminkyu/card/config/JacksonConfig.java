@@ -1,8 +1,12 @@
 package io.github.songminkyu.card.config;
 
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.List;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration(proxyBeanMethods = false)
 public class JacksonConfig {
@@ -11,4 +15,21 @@ public class JacksonConfig {
     public JavaTimeModule javaTimeModule() {
         return new JavaTimeModule();
     }
+
+    /**
+     * Binary Jackson encoding for internal callers that opt in with
+     * {@code Accept: application/x-jackson-smile}. The converter is appended after the JSON
+     * one rather than declared as a bean, which Spring Boot would put first, so wildcard and
+     * missing Accept headers keep getting JSON.
+     */
+    @Bean
+    public WebMvcConfigurer smileMessageConverterConfigurer() {
+        return new WebMvcConfigurer() {
+
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new JacksonSmileHttpMessageConverter());
+            }
+        };
+    }
 }
@@ -17,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -83,6 +84,7 @@ public class LoggingConfig {
     @Bean
     @ConditionalOnMissingBean(name = CUSTOMIZER_NAME)
     @ConditionalOnClass(GraphQL.class)
+    @ConditionalOnProperty(value = "spring.logging.graphql.enabled", matchIfMissing = true)
     public WebGraphQlInterceptor loggingGraphQlInterceptor(Sink sink) {
         return new LoggingInterceptor(sink);
     }
@@ -5,6 +5,8 @@ import static org.springframework.boot.autoconfigure.security.servlet.PathReques
 import io.github.songminkyu.card.exception.security.SecurityProblemSupport;
 import io.github.songminkyu.card.security.AuthoritiesConstants;
 import io.github.songminkyu.card.security.oauth2.JwtGrantedAuthorityConverter;
+import io.github.songminkyu.common.security.internal.InternalIdentityAuthenticationFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -22,6 +24,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
@@ -43,7 +46,10 @@ public class SecurityConfig {
         HttpSecurity http,
         MvcRequestMatcher.Builder mvc,
         Converter<Jwt, AbstractAuthenticationToken> authenticationConverter,
-        SecurityProblemSupport problemSupport) throws Exception {
+        SecurityProblemSupport problemSupport,
+        ObjectProvider<InternalIdentityAuthenticationFilter> internalIdentityAuthenticationFilter) throws Exception {
+        internalIdentityAuthenticationFilter.ifAvailable(
+            filter -> http.addFilterBefore(filter, BearerTokenAuthenticationFilter.class));
         http
             .csrf(AbstractHttpConfigurer::disable)
             .headers(headers -> headers
@@ -61,7 +67,9 @@ public class SecurityConfig {
                     .requestMatchers(mvc.pattern("/api/card/**")).hasAuthority(AuthoritiesConstants.CARD)
                     .anyRequest().authenticated())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(authenticationConverter))
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .bearerTokenResolver(InternalIdentityAuthenticationFilter.bearerTokenResolver())
+                .jwt(jwt -> jwt.jwtAuthenticationConverter(authenticationConverter))
                 .authenticationEntryPoint(problemSupport)
                 .accessDeniedHandler(problemSupport));
         return http.build();
@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 public final class CardConstants {
     public static final String CREDIT_CARD = "Credit Card";
     public static final int NEW_CARD_LIMIT = 1_00_000;
+    public static final int MAX_CARDS_PER_REQUEST = 1_000;
+    public static final int MAX_CARDS_PER_STREAM = 1_00_000;
+    public static final int CARD_ISSUE_CHUNK_SIZE = 500;
     public static final String STATUS_201 = "201";
     public static final String MESSAGE_201 = "Card created successfully";
     public static final String STATUS_200 = "200";
@@ -10,4 +10,6 @@ public final class Constants {
 
     public static final String SPRING_PROFILE_DEVELOPMENT = "local";
     public static final String SPRING_PROFILE_PRODUCTION = "prod";
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
 }
@@ -0,0 +1,145 @@
+package io.github.songminkyu.card.consumer;
+
+import static io.github.songminkyu.card.repository.CardRepository.CARD_BY_MOBILE_NUMBER_CACHE;
+
+import io.github.songminkyu.card.debezium.data.Operation;
+import io.github.songminkyu.card.debezium.data.Payload;
+import io.github.songminkyu.card.entity.Card;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cards changed by a batch of CDC events from both card caches.
+ *
+ * <p>The Hibernate second-level region is keyed by card id and the Spring
+ * {@code cardByMobileNumber} cache by mobile number, so an update made by another
+ * instance or directly in SQL would otherwise be served stale from either until it
+ * expires. Keys of a whole consumer poll are collected first and removed with one
+ * multi-key Redis call per cache. Creates evict the mobile number too, since a lookup
+ * that found nothing is cached as well; updates evict the number before and after.</p>
+ */
+@Component
+@Slf4j
+public class CardCacheInvalidator {
+
+    private static final String INVALIDATIONS_METRIC_NAME = "card.cache.invalidations";
+    private static final String ENTITY_CACHE = "entity";
+
+    private final EntityManagerFactory emf;
+    private final RedissonClient redissonClient;
+    private final CacheManager cacheManager;
+    private final Map<Operation, Counter> entityEvictions = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> mobileNumberEvictions = new EnumMap<>(Operation.class);
+
+    public CardCacheInvalidator(
+        EntityManagerFactory emf,
+        RedissonClient redissonClient,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry) {
+        this.emf = emf;
+        this.redissonClient = redissonClient;
+        this.cacheManager = cacheManager;
+        for (var operation : Operation.values()) {
+            entityEvictions.put(operation, counter(meterRegistry, ENTITY_CACHE, operation));
+            mobileNumberEvictions.put(operation, counter(meterRegistry, CARD_BY_MOBILE_NUMBER_CACHE, operation));
+        }
+    }
+
+    public void invalidate(List<Payload<Card>> payloads) {
+        Set<Long> cardIds = new LinkedHashSet<>();
+        Set<String> mobileNumbers = new LinkedHashSet<>();
+        for (var payload : payloads) {
+            var operation = payload.operation();
+            if (operation == Operation.READ) {
+                continue;
+            }
+            if (operation != Operation.CREATE) {
+                var card = operation == Operation.DELETE ? payload.before() : payload.after();
+                if (card != null && cardIds.add(card.getCardId())) {
+                    entityEvictions.get(operation).increment();
+                }
+            }
+            for (var card : new Card[] {payload.before(), payload.after()}) {
+                if (card != null && card.getMobileNumber() != null && mobileNumbers.add(card.getMobileNumber())) {
+                    mobileNumberEvictions.get(operation).increment();
+                }
+            }
+        }
+        if (!cardIds.isEmpty()) {
+            evictEntities(cardIds);
+        }
+        if (!mobileNumbers.isEmpty()) {
+            evictMobileNumbers(mobileNumbers);
+        }
+    }
+
+    /**
+     * Evicts a card whose balance was changed with a statement that bypasses both caches.
+     */
+    public void invalidate(Long cardId, String mobileNumber) {
+        entityEvictions.get(Operation.UPDATE).increment();
+        mobileNumberEvictions.get(Operation.UPDATE).increment();
+        evictEntities(Set.of(cardId));
+        evictMobileNumbers(Set.of(mobileNumber));
+    }
+
+    private void evictEntities(Set<Long> cardIds) {
+        var sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Card.class);
+        var access = persister.getCacheAccessStrategy();
+        if (access == null) {
+            return;
+        }
+        List<Object> keys = new ArrayList<>(cardIds.size());
+        cardIds.forEach(cardId -> keys.add(access.generateCacheKey(cardId, persister, sessionFactory, null)));
+        log.debug("Evicting cards {} from 2nd-level cache", cardIds);
+        // the Redisson region factory stores each region as a map named after it
+        redissonClient.getMapCache(access.getRegion().getName()).fastRemoveAsync(keys.toArray())
+            .whenComplete((removed, error) -> logFailure(error, cardIds));
+    }
+
+    private void evictMobileNumbers(Set<String> mobileNumbers) {
+        var cache = cacheManager.getCache(CARD_BY_MOBILE_NUMBER_CACHE);
+        if (cache == null) {
+            return;
+        }
+        log.debug("Evicting mobile numbers {} from {}", mobileNumbers, CARD_BY_MOBILE_NUMBER_CACHE);
+        if (cache.getNativeCache() instanceof RMap<?, ?> map) {
+            @SuppressWarnings("unchecked")
+            var entries = (RMap<Object, Object>) map;
+            entries.fastRemoveAsync(mobileNumbers.toArray())
+                .whenComplete((removed, error) -> logFailure(error, mobileNumbers));
+        } else {
+            mobileNumbers.forEach(cache::evict);
+        }
+    }
+
+    private static void logFailure(Throwable error, Set<?> keys) {
+        if (error != null) {
+            log.warn("Could not evict {} from cache", keys, error);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cache, Operation operation) {
+        return Counter.builder(INVALIDATIONS_METRIC_NAME)
+            .tag("cache", cache)
+            .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+            .description("Card cache entries evicted because the card changed outside of them")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.songminkyu.card.consumer;
+
+import io.github.songminkyu.card.debezium.data.Operation;
+import io.github.songminkyu.card.dto.CardDTO;
+
+/**
+ * Compact notification of a committed card change, as rebroadcast to every card instance.
+ *
+ * @param sequence    position of the change in the source log, increasing with every change
+ * @param operation   the change captured by Debezium, or {@code null} for a resync signal
+ * @param committedAt epoch millis at which the source transaction committed
+ * @param cardId      id of the changed card, or {@code null} for a resync signal
+ * @param card        the card after the change, or before it for a delete
+ */
+public record CardChange(long sequence, Operation operation, long committedAt, Long cardId, CardDTO card) {
+
+    /**
+     * Tells a resuming subscriber that changes since its position may have been missed, so it
+     * must query the cards again; live changes after {@code sequence} follow.
+     */
+    public static CardChange resync(long sequence) {
+        return new CardChange(sequence, null, System.currentTimeMillis(), null, null);
+    }
+
+    public boolean resyncRequired() {
+        return operation == null;
+    }
+}
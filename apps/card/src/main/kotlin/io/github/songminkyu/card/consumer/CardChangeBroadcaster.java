@@ -0,0 +1,13 @@
+package io.github.songminkyu.card.consumer;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers card changes consumed by one instance to the subscribers of all instances.
+ */
+public interface CardChangeBroadcaster {
+
+    void broadcast(CardChange change);
+
+    void listen(Consumer<CardChange> listener);
+}
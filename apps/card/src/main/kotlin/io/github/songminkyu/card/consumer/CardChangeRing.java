@@ -0,0 +1,83 @@
+package io.github.songminkyu.card.consumer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent card changes, used to resume subscriptions.
+ *
+ * <p>Writers claim a slot with a single increment and overwrite whatever it held, so
+ * recording never blocks or allocates beyond the slot holder. Readers copy the slots
+ * without locking; a slot that a writer has claimed but not yet filled is skipped, which is
+ * safe because that change is delivered live right after it is recorded.</p>
+ *
+ * <p>The ring only vouches for changes after the first one it recorded, or after the
+ * newest one it has overwritten since. A position older than that may have missed changes
+ * and calls for a resync.</p>
+ */
+final class CardChangeRing {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong(NONE);
+    private final AtomicLong latest = new AtomicLong(NONE);
+
+    CardChangeRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(CardChange change) {
+        long index = head.getAndIncrement();
+        var previous = slots.getAndSet((int) (index & mask), new Slot(index, change));
+        if (previous == null) {
+            floor.compareAndSet(NONE, change.sequence());
+        } else {
+            floor.accumulateAndGet(previous.change.sequence(), Math::max);
+        }
+        latest.accumulateAndGet(change.sequence(), Math::max);
+    }
+
+    /**
+     * Returns the recorded changes after the given sequence in sequence order, or
+     * {@code null} when the ring can no longer tell whether some were missed.
+     */
+    List<CardChange> after(long sequence) {
+        long oldest = floor.get();
+        if (oldest == NONE || sequence < oldest) {
+            return null;
+        }
+        long end = head.get();
+        List<CardChange> changes = new ArrayList<>();
+        for (long index = Math.max(0, end - slots.length()); index < end; index++) {
+            var slot = slots.get((int) (index & mask));
+            if (slot != null && slot.index == index && slot.change.sequence() > sequence) {
+                changes.add(slot.change);
+            }
+        }
+        // a wrap-around during the copy shows as a newer floor
+        if (sequence < floor.get()) {
+            return null;
+        }
+        changes.sort(Comparator.comparingLong(CardChange::sequence));
+        return changes;
+    }
+
+    /**
+     * Returns the highest sequence recorded, or {@code 0} before the first change.
+     */
+    long latest() {
+        long sequence = latest.get();
+        return sequence == NONE ? 0 : sequence;
+    }
+
+    private record Slot(long index, CardChange change) {
+    }
+}
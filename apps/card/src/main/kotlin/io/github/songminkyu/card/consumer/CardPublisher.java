@@ -1,62 +1,224 @@
 package io.github.songminkyu.card.consumer;
 
 import static io.github.songminkyu.card.debezium.data.Operation.DELETE;
-import static io.github.songminkyu.card.debezium.data.Operation.UPDATE;
+import static io.github.songminkyu.card.debezium.data.Operation.READ;
 
+import io.github.songminkyu.card.config.GraphQLProperties;
 import io.github.songminkyu.card.debezium.data.DebeziumEventDetails;
+import io.github.songminkyu.card.debezium.data.Payload;
 import io.github.songminkyu.card.dto.CardDTO;
 import io.github.songminkyu.card.entity.Card;
 import io.github.songminkyu.card.mapper.CardMapper;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.Flowable;
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableEmitter;
-import io.reactivex.rxjava3.observables.ConnectableObservable;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.PersistenceUnit;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.processors.UnicastProcessor;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Publishes card change events from Debezium to {@code onNewCard} subscribers.
+ *
+ * <p>Each subscriber filters the shared stream by its own arguments before anything is
+ * queued, then gets a buffer bounded by {@code spring.graphql.engine.subscription.buffer-size}.
+ * When a slow client lets it fill up, the configured overflow policy either drops the oldest
+ * event or ends the subscription with an error. Lag is the number of events queued for a
+ * subscriber; it is summarized across subscribers rather than tagged per session.</p>
+ *
+ * <p>Only one instance consumes each Debezium event. It evicts the change from the shared
+ * caches through the {@link CardCacheInvalidator} and hands it to the
+ * {@link CardChangeBroadcaster}, which delivers it to this class on every instance.
+ * {@code card.subscription.push.latency} measures from the source commit to the moment a
+ * subscriber is handed the event.</p>
+ *
+ * <p>Every instance also records the changes it publishes in a {@link CardChangeRing}. A
+ * subscriber passing the sequence of the last change it saw gets the newer ones from the
+ * ring before the live ones, or a resync signal when the ring no longer covers its
+ * position. Sequences are the Postgres LSN reported by Debezium, which is the same on every
+ * instance.</p>
+ */
 @Configuration
 @Slf4j
 public class CardPublisher {
 
-    @Getter
-    private final Flowable<CardDTO> publisher;
-    private ObservableEmitter<CardDTO> emitter;
-    private final CardMapper cardMapper;
+    private static final String EVENTS_METRIC_NAME = "card.subscription.events";
+    private static final String LAG_METRIC_NAME = "card.subscription.lag";
+    private static final String MAX_LAG_METRIC_NAME = "card.subscription.lag.max";
+    private static final String SUBSCRIBERS_METRIC_NAME = "card.subscription.subscribers";
+    private static final String PUSH_LATENCY_METRIC_NAME = "card.subscription.push.latency";
+    private static final String COMMIT_TIMESTAMP = "ts_ms";
+    private static final String LOG_SEQUENCE_NUMBER = "lsn";
+    private static final long NONE = Long.MIN_VALUE;
 
-    @PersistenceUnit
-    private EntityManagerFactory emf;
+    private final FlowableProcessor<CardChange> processor = PublishProcessor.<CardChange>create().toSerialized();
+    private final CardChangeRing ring;
+    private final AtomicLong fallbackSequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Set<AtomicLong> subscriberLags = ConcurrentHashMap.newKeySet();
+    private final CardMapper cardMapper;
+    private final GraphQLProperties graphQLProperties;
+    private final CardChangeBroadcaster broadcaster;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final DistributionSummary lag;
+    private final Timer pushLatency;
 
-    public CardPublisher(CardMapper cardMapper) {
+    public CardPublisher(
+        CardMapper cardMapper,
+        GraphQLProperties graphQLProperties,
+        CardChangeBroadcaster broadcaster,
+        CardCacheInvalidator cardCacheInvalidator,
+        MeterRegistry meterRegistry) {
         this.cardMapper = cardMapper;
-        Observable<CardDTO> ratingObservable = Observable.create(emitter -> this.emitter = emitter);
-        ConnectableObservable<CardDTO> connectableObservable = ratingObservable.share().publish();
-        connectableObservable.connect();
-        this.publisher = connectableObservable.toFlowable(BackpressureStrategy.BUFFER);
+        this.graphQLProperties = graphQLProperties;
+        this.broadcaster = broadcaster;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.ring = new CardChangeRing(graphQLProperties.getSubscription().getReplaySize());
+        this.delivered = events(meterRegistry, "delivered", "Card events handed to subscribers");
+        this.dropped = events(meterRegistry, "dropped", "Card events discarded because a subscriber's buffer was full");
+        this.lag = DistributionSummary.builder(LAG_METRIC_NAME)
+            .description("Events queued for a subscriber when a new one is enqueued")
+            .register(meterRegistry);
+        this.pushLatency = Timer.builder(PUSH_LATENCY_METRIC_NAME)
+            .description("Time from the commit of a card change to its hand-off to a subscriber")
+            .register(meterRegistry);
+        Gauge.builder(MAX_LAG_METRIC_NAME, subscriberLags,
+                lags -> lags.stream().mapToLong(AtomicLong::get).max().orElse(0))
+            .description("Largest number of events queued for a single subscriber")
+            .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC_NAME, subscriberLags, Set::size)
+            .description("Active onNewCard subscriptions")
+            .register(meterRegistry);
+        broadcaster.listen(this::publish);
     }
 
+    /**
+     * Returns the card changes matching the given arguments, either of which may be
+     * {@code null} to match any card. When {@code after} is set, the recorded changes after
+     * that sequence come first.
+     */
+    public Flowable<CardChange> subscribe(String after, String mobileNumber, String cardType) {
+        var settings = graphQLProperties.getSubscription();
+        var strategy = settings.getOverflowPolicy() == GraphQLProperties.OverflowPolicy.DISCONNECT
+            ? BackpressureOverflowStrategy.ERROR
+            : BackpressureOverflowStrategy.DROP_OLDEST;
+        return Flowable.defer(() -> {
+            var pending = new AtomicLong();
+            return (after != null ? resume(after) : processor)
+                .filter(change -> change.resyncRequired() || matches(change.card(), mobileNumber, cardType))
+                .doOnNext(change -> lag.record(pending.incrementAndGet()))
+                .onBackpressureBuffer(settings.getBufferSize(), () -> {
+                    pending.decrementAndGet();
+                    dropped.increment();
+                }, strategy)
+                .doOnNext(change -> {
+                    pending.decrementAndGet();
+                    delivered.increment();
+                    pushLatency.record(
+                        Math.max(0, System.currentTimeMillis() - change.committedAt()), TimeUnit.MILLISECONDS);
+                })
+                .doOnSubscribe(subscription -> subscriberLags.add(pending))
+                .doFinally(() -> subscriberLags.remove(pending));
+        });
+    }
+
+    /**
+     * Consumes a whole poll of CDC events at once, so that its cache evictions are batched.
+     */
     @Bean
-    public Consumer<DebeziumEventDetails<Card>> processCardDebeziumEvent() {
-        return debeziumEvent -> {
-            if (emitter != null) {
-                var payload = debeziumEvent.payload();
-                var entity = switch (payload.operation()) {
-                    case DELETE -> payload.before();
-                    default -> payload.after();
-                };
-                var dto = cardMapper.toDto(entity);
-                emitter.onNext(dto);
-                if (payload.operation() == DELETE || payload.operation() == UPDATE) {
-                    log.info("Evicting item {} from 2nd-level cache as TX was not started by this application",
-                        entity.getCardId());
-                    emf.getCache().evict(entity.getClass(), entity.getCardId());
+    public Consumer<List<DebeziumEventDetails<Card>>> processCardDebeziumEvent() {
+        return debeziumEvents -> {
+            var payloads = debeziumEvents.stream().map(DebeziumEventDetails::payload).toList();
+            cardCacheInvalidator.invalidate(payloads);
+            for (var payload : payloads) {
+                if (payload.operation() == READ) {
+                    // snapshot rows are the initial state, not changes
+                    continue;
                 }
+                var entity = payload.operation() == DELETE ? payload.before() : payload.after();
+                broadcaster.broadcast(new CardChange(sequence(payload), payload.operation(), committedAt(payload),
+                    entity.getCardId(), cardMapper.toDto(entity)));
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Connects to the live changes first, so that none is lost while the ring is read, then
+     * skips the live changes that the replay already delivered.
+     */
+    private Flowable<CardChange> resume(String after) {
+        var live = UnicastProcessor.<CardChange>create();
+        Disposable connection = processor.subscribe(live::onNext, live::onError, live::onComplete);
+        long position = parseSequence(after);
+        var replay = position != NONE ? ring.after(position) : null;
+        if (replay == null) {
+            long latest = ring.latest();
+            log.debug("Subscription position {} is no longer covered, requesting a resync at {}", after, latest);
+            return live.filter(change -> change.sequence() > latest)
+                .startWithItem(CardChange.resync(latest))
+                .doFinally(connection::dispose);
+        }
+        Set<Long> replayed = new HashSet<>();
+        replay.forEach(change -> replayed.add(change.sequence()));
+        return live.filter(change -> change.sequence() > position && !replayed.contains(change.sequence()))
+            .startWithIterable(replay)
+            .doFinally(connection::dispose);
+    }
+
+    private void publish(CardChange change) {
+        ring.add(change);
+        if (processor.hasSubscribers()) {
+            processor.onNext(change);
+        }
+    }
+
+    private long sequence(Payload<Card> payload) {
+        if (payload.source() != null && payload.source().get(LOG_SEQUENCE_NUMBER) instanceof Number lsn) {
+            return lsn.longValue();
+        }
+        // connectors without an LSN: increasing on this instance only
+        return fallbackSequence.incrementAndGet();
+    }
+
+    private static long parseSequence(String sequence) {
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return NONE;
+        }
+    }
+
+    private static long committedAt(Payload<Card> payload) {
+        if (payload.source() != null && payload.source().get(COMMIT_TIMESTAMP) instanceof Number timestamp) {
+            return timestamp.longValue();
+        }
+        return payload.date() != null ? payload.date().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    private static boolean matches(CardDTO card, String mobileNumber, String cardType) {
+        return (mobileNumber == null || mobileNumber.equals(card.mobileNumber()))
+            && (cardType == null || cardType.equalsIgnoreCase(card.cardType()));
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder(EVENTS_METRIC_NAME)
+            .tag("result", result)
+            .description(description)
+            .register(meterRegistry);
+    }
+}
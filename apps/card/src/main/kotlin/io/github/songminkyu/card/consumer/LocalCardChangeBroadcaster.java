@@ -0,0 +1,23 @@
+package io.github.songminkyu.card.consumer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hands changes straight to the listeners of this instance, for single-instance deployments.
+ */
+public class LocalCardChangeBroadcaster implements CardChangeBroadcaster {
+
+    private final List<Consumer<CardChange>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void broadcast(CardChange change) {
+        listeners.forEach(listener -> listener.accept(change));
+    }
+
+    @Override
+    public void listen(Consumer<CardChange> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.songminkyu.card.consumer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.songminkyu.card.dto.CardDTO;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+
+/**
+ * Rebroadcasts changes over a Redis pub/sub topic that every card instance listens to.
+ *
+ * <p>The CDC binding keeps its consumer group, so each change is consumed and evicted from
+ * the shared caches once, then published here and pushed by every instance to its own
+ * WebSocket sessions. Pub/sub is at-most-once: an instance that is disconnected from Redis
+ * misses the changes published meanwhile, as its sessions would have on a dropped socket.</p>
+ */
+@Slf4j
+public class RedissonCardChangeBroadcaster implements CardChangeBroadcaster, AutoCloseable {
+
+    private final RTopic topic;
+    private final List<Integer> listenerIds = new CopyOnWriteArrayList<>();
+
+    public RedissonCardChangeBroadcaster(RedissonClient redissonClient, String topicName) {
+        var objectMapper = new ObjectMapper()
+            .addMixIn(CardChange.class, RecordCreator.class)
+            .addMixIn(CardDTO.class, RecordCreator.class);
+        this.topic = redissonClient.getTopic(topicName, new TypedJsonJacksonCodec(CardChange.class, objectMapper));
+    }
+
+    @Override
+    public void broadcast(CardChange change) {
+        topic.publishAsync(change).whenComplete((receivers, error) -> {
+            if (error != null) {
+                log.warn("Could not broadcast {} of card {}", change.operation(), change.cardId(), error);
+            }
+        });
+    }
+
+    @Override
+    public void listen(Consumer<CardChange> listener) {
+        listenerIds.add(topic.addListener(CardChange.class, (channel, change) -> listener.accept(change)));
+    }
+
+    @Override
+    public void close() {
+        topic.removeListener(listenerIds.toArray(Integer[]::new));
+    }
+
+    /**
+     * The Redisson codecs hide constructors from Jackson, which leaves records without a way to be read back.
+     */
+    @JsonAutoDetect(creatorVisibility = JsonAutoDetect.Visibility.ANY)
+    private interface RecordCreator {
+    }
+}
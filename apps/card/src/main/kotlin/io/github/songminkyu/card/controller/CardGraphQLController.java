@@ -1,7 +1,12 @@
 package io.github.songminkyu.card.controller;
 
+import io.github.songminkyu.card.consumer.CardChange;
 import io.github.songminkyu.card.dto.CardDTO;
+import io.github.songminkyu.card.dto.CardIssueProgressDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
+import io.github.songminkyu.card.filter.CardFilter;
 import io.github.songminkyu.card.service.CardService;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
@@ -22,8 +27,12 @@ public class CardGraphQLController {
     private final CardService cardService;
 
     @QueryMapping
-    Window<CardDTO> cards(ScrollSubrange subrange) {
-        return cardService.getAllCards(subrange);
+    Window<CardDTO> cards(ScrollSubrange subrange, @Argument String cardType, @Argument Integer minTotalLimit) {
+        var filter = CardFilter.builder()
+            .cardType(cardType)
+            .minTotalLimit(minTotalLimit)
+            .build();
+        return cardService.getAllCards(subrange, filter);
     }
 
     @QueryMapping
@@ -36,6 +45,11 @@ public class CardGraphQLController {
         return cardService.createCard(mobileNumber);
     }
 
+    @MutationMapping
+    public List<CardIssueResultDTO> createCards(@Argument List<String> mobileNumbers) {
+        return cardService.createCards(mobileNumbers);
+    }
+
     @MutationMapping
     public String deleteCard(@Argument String mobileNumber) {
         cardService.deleteCard(mobileNumber);
@@ -43,7 +57,15 @@ public class CardGraphQLController {
     }
 
     @SubscriptionMapping
-    public Publisher<CardDTO> onNewCard() {
-        return cardService.onNewCard();
+    public Publisher<CardChange> onNewCard(
+        @Argument String after,
+        @Argument String mobileNumber,
+        @Argument String cardType) {
+        return cardService.onNewCard(after, mobileNumber, cardType);
+    }
+
+    @SubscriptionMapping
+    public Publisher<CardIssueProgressDTO> issueCards(@Argument List<String> mobileNumbers) {
+        return cardService.issueCards(mobileNumbers);
     }
 }
\ No newline at end of file
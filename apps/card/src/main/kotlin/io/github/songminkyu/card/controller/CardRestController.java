@@ -1,21 +1,32 @@
 package io.github.songminkyu.card.controller;
 
+import static io.github.songminkyu.card.constants.Constants.APPLICATION_SMILE_VALUE;
+
 import com.github.loki4j.slf4j.marker.LabelMarker;
 import io.github.songminkyu.card.constants.CardConstants;
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
 import io.github.songminkyu.card.dto.CardContactInfoDTO;
 import io.github.songminkyu.card.dto.CardDTO;
+import io.github.songminkyu.card.dto.CardIssueProgressDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
 import io.github.songminkyu.card.dto.ErrorResponseDTO;
 import io.github.songminkyu.card.dto.ResponseDTO;
+import io.github.songminkyu.card.service.CardAuthorizationService;
 import io.github.songminkyu.card.service.CardService;
+import io.reactivex.rxjava3.core.Flowable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -48,6 +59,8 @@ public class CardRestController {
 
     private final CardService cardService;
 
+    private final CardAuthorizationService cardAuthorizationService;
+
     private final Environment environment;
 
     private final CardContactInfoDTO cardContactInfo;
@@ -86,6 +99,63 @@ public class CardRestController {
             .body(cardDTO);
     }
 
+    @SecurityRequirement(name = "auth")
+    @Operation(
+        summary = "Create Cards REST API",
+        description = "REST API to issue Cards for up to " + CardConstants.MAX_CARDS_PER_REQUEST
+            + " mobile numbers, with one result per mobile number"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Ok"
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad Request"
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            schema = @Schema(implementation = ErrorResponseDTO.class)
+        )
+    )
+    @PostMapping(value = "/card/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CardIssueResultDTO>> createCards(
+        @NotEmpty @Size(max = CardConstants.MAX_CARDS_PER_REQUEST)
+        @RequestBody List<String> mobileNumbers) {
+        return ResponseEntity.ok(cardService.createCards(mobileNumbers));
+    }
+
+    @SecurityRequirement(name = "auth")
+    @Operation(
+        summary = "Stream Card issuance REST API",
+        description = "REST API to issue Cards for up to " + CardConstants.MAX_CARDS_PER_STREAM
+            + " mobile numbers, streaming one line of progress per chunk"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Ok"
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad Request"
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            schema = @Schema(implementation = ErrorResponseDTO.class)
+        )
+    )
+    @PostMapping(value = "/card/batch/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flowable<CardIssueProgressDTO> issueCards(
+        @NotEmpty @Size(max = CardConstants.MAX_CARDS_PER_STREAM)
+        @RequestBody List<String> mobileNumbers) {
+        return cardService.issueCards(mobileNumbers);
+    }
+
     @Operation(
         summary = "Fetch Card Details REST API",
         description = "REST API to fetch card details based on a mobile number"
@@ -105,7 +175,7 @@ public class CardRestController {
             schema = @Schema(implementation = ErrorResponseDTO.class)
         )
     )
-    @GetMapping("/card")
+    @GetMapping(value = "/card", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<CardDTO> fetchCardDetails(
         @RequestHeader("X-Correlation-Id") String correlationId,
         @RequestParam
@@ -201,6 +271,117 @@ public class CardRestController {
         return ResponseEntity.noContent().build();
     }
 
+    @SecurityRequirement(name = "auth")
+    @Operation(
+        summary = "Authorize Card REST API",
+        description = "REST API to hold an amount against the available amount of a card. Requests repeated "
+            + "with the same Idempotency-Key return the recorded authorization"
+    )
+    @ApiResponse(
+        responseCode = "201",
+        description = "Created"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Ok, replay of an earlier request"
+    )
+    @ApiResponse(
+        responseCode = "402",
+        description = "Declined, the available amount is insufficient"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Not Found"
+    )
+    @ApiResponse(
+        responseCode = "409",
+        description = "Conflict"
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            schema = @Schema(implementation = ErrorResponseDTO.class)
+        )
+    )
+    @PostMapping("/card/{cardNumber}/authorizations")
+    public ResponseEntity<CardAuthorizationDTO> authorize(
+        @Pattern(regexp = "(^$|\\d{12})", message = "{jakarta.validation.constraint.CardNumber.Pattern.message}")
+        @PathVariable String cardNumber,
+        @NotBlank @Size(max = 64)
+        @RequestHeader("Idempotency-Key") String idempotencyKey,
+        @Positive
+        @RequestParam int amount) {
+        var authorization = cardAuthorizationService.authorize(cardNumber, amount, idempotencyKey);
+        HttpStatus status = "DECLINED".equals(authorization.status()) ? HttpStatus.PAYMENT_REQUIRED
+            : authorization.replayed() ? HttpStatus.OK : HttpStatus.CREATED;
+        return ResponseEntity
+            .status(status)
+            .body(authorization);
+    }
+
+    @SecurityRequirement(name = "auth")
+    @Operation(
+        summary = "Capture Card Authorization REST API",
+        description = "REST API to charge all or part of a held amount and give back the rest"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Ok"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Not Found"
+    )
+    @ApiResponse(
+        responseCode = "409",
+        description = "Conflict"
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            schema = @Schema(implementation = ErrorResponseDTO.class)
+        )
+    )
+    @PostMapping("/card/authorizations/{authorizationId}/capture")
+    public ResponseEntity<CardAuthorizationDTO> capture(
+        @PathVariable Long authorizationId,
+        @Positive
+        @RequestParam(required = false) Integer amount) {
+        return ResponseEntity.ok(cardAuthorizationService.capture(authorizationId, amount));
+    }
+
+    @SecurityRequirement(name = "auth")
+    @Operation(
+        summary = "Release Card Authorization REST API",
+        description = "REST API to give back a held amount without charging it"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Ok"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Not Found"
+    )
+    @ApiResponse(
+        responseCode = "409",
+        description = "Conflict"
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            schema = @Schema(implementation = ErrorResponseDTO.class)
+        )
+    )
+    @PostMapping("/card/authorizations/{authorizationId}/release")
+    public ResponseEntity<CardAuthorizationDTO> release(
+        @PathVariable Long authorizationId) {
+        return ResponseEntity.ok(cardAuthorizationService.release(authorizationId));
+    }
+
     @Operation(
         summary = "Get Build information",
         description = "Get Build information that is deployed into card microservice"
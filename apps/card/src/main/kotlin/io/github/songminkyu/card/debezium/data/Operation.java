@@ -8,7 +8,8 @@ import lombok.RequiredArgsConstructor;
 public enum Operation {
     CREATE("c"),
     UPDATE("u"),
-    DELETE("r");
+    DELETE("d"),
+    READ("r");
 
     @Getter(onMethod_ = @JsonValue)
     private final String code;
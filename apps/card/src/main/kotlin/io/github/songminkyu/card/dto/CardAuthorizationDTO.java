@@ -0,0 +1,42 @@
+package io.github.songminkyu.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "CardAuthorization",
+    description = "Schema to hold a hold placed on the available amount of a Card"
+)
+public record CardAuthorizationDTO(
+
+    @Schema(
+        description = "Identifier of the authorization", example = "1051"
+    )
+    Long authorizationId,
+
+    @Schema(
+        description = "Idempotency key the authorization was requested with", example = "c0ffee-0001"
+    )
+    String idempotencyKey,
+
+    @Schema(
+        description = "Amount held against the card", example = "1500"
+    )
+    int amount,
+
+    @Schema(
+        description = "Amount charged when the hold was captured", example = "1200"
+    )
+    int capturedAmount,
+
+    @Schema(
+        description = "Status of the authorization", example = "PENDING",
+        allowableValues = {"PENDING", "CAPTURED", "RELEASED", "DECLINED"}
+    )
+    String status,
+
+    @Schema(
+        description = "Whether the response replays an earlier request with the same idempotency key"
+    )
+    boolean replayed
+) {
+
+}
@@ -0,0 +1,27 @@
+package io.github.songminkyu.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(name = "CardIssueProgress",
+    description = "Schema to hold the results of one chunk of a bulk Card issuance"
+)
+public record CardIssueProgressDTO(
+
+    @Schema(
+        description = "Mobile numbers processed so far", example = "1000"
+    )
+    int processed,
+
+    @Schema(
+        description = "Mobile numbers requested", example = "25000"
+    )
+    int total,
+
+    @Schema(
+        description = "Outcomes of the mobile numbers of this chunk"
+    )
+    List<CardIssueResultDTO> results
+) {
+
+}
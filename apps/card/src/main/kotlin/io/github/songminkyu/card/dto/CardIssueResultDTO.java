@@ -0,0 +1,32 @@
+package io.github.songminkyu.card.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "CardIssueResult",
+    description = "Schema to hold the outcome of issuing a Card for one mobile number"
+)
+public record CardIssueResultDTO(
+
+    @Schema(
+        description = "Mobile Number of Customer", example = "4354437687"
+    )
+    String mobileNumber,
+
+    @Schema(
+        description = "Outcome for the mobile number", example = "CREATED"
+    )
+    Status status,
+
+    @Schema(
+        description = "The issued card, when created"
+    )
+    CardDTO card
+) {
+
+    public enum Status {
+        CREATED,
+        ALREADY_EXISTS,
+        DUPLICATE,
+        INVALID
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.songminkyu.card.entity;
+
+public enum AuthorizationStatus {
+    PENDING,
+    CAPTURED,
+    RELEASED,
+    DECLINED
+}
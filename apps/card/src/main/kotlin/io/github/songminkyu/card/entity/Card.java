@@ -30,7 +30,7 @@ public class Card extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SequenceGenerator")
-    @SequenceGenerator(name = "SequenceGenerator", sequenceName = "seq_card", allocationSize = 1)
+    @SequenceGenerator(name = "SequenceGenerator", sequenceName = "seq_card", allocationSize = 50)
     @Column(name = "card_id", nullable = false)
     private Long cardId;
 
@@ -47,10 +47,11 @@ public class Card extends BaseEntity {
     @Column(name = "total_limit", nullable = false)
     private int totalLimit;
 
-    @Column(name = "amount_used", nullable = false)
+    // balances only move through CardBalanceRepository, so entity updates never write a stale copy back
+    @Column(name = "amount_used", nullable = false, updatable = false)
     private int amountUsed;
 
-    @Column(name = "available_amount", nullable = false)
+    @Column(name = "available_amount", nullable = false, updatable = false)
     private int availableAmount;
 
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package io.github.songminkyu.card.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A hold placed on the available amount of a card, identified by the idempotency key of
+ * the request that placed it.
+ *
+ * <p>Holds are written in batches by whichever request drains the queue of their card, so
+ * the creator is taken from the submitting request rather than from JPA auditing.</p>
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CardAuthorization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "AuthorizationSequenceGenerator")
+    @SequenceGenerator(
+        name = "AuthorizationSequenceGenerator", sequenceName = "seq_card_authorization", allocationSize = 50)
+    @Column(name = "authorization_id", nullable = false)
+    private Long authorizationId;
+
+    @Column(name = "card_id", nullable = false, updatable = false)
+    private Long cardId;
+
+    @Column(name = "idempotency_key", nullable = false, updatable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private int amount;
+
+    @Column(name = "captured_amount", nullable = false)
+    private int capturedAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private AuthorizationStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false, updatable = false, length = 50)
+    private String createdBy;
+
+    @Column(insertable = false)
+    private Instant updatedAt;
+}
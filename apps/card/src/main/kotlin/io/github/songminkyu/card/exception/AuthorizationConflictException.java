@@ -0,0 +1,9 @@
+package io.github.songminkyu.card.exception;
+
+public class AuthorizationConflictException extends RuntimeException {
+
+    public AuthorizationConflictException(String message) {
+        super(message);
+    }
+
+}
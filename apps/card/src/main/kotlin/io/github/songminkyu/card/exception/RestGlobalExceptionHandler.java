@@ -146,6 +146,16 @@ public class RestGlobalExceptionHandler extends ResponseEntityExceptionHandler {
             HttpStatusCode.valueOf(problem.getStatus()), webRequest);
     }
 
+    @ExceptionHandler(AuthorizationConflictException.class)
+    public ResponseEntity<Object> handleAuthorizationConflictException(
+        AuthorizationConflictException ex,
+        WebRequest webRequest) {
+        var problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT, ex.getMessage());
+        return handleExceptionInternal(ex, problem, null,
+            HttpStatusCode.valueOf(problem.getStatus()), webRequest);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(
         Exception ex,
@@ -23,7 +23,7 @@ import org.springframework.util.StringUtils;
 public class CardFilter implements Specification<Card> {
 
     private String cardType;
-    private Number totalLimit;
+    private Number minTotalLimit;
 
     @Override
     public Predicate toPredicate(
@@ -36,8 +36,8 @@ public class CardFilter implements Specification<Card> {
             predicates.add(criteriaBuilder.equal(root.get(Card_.CARD_TYPE), cardType));
         }
 
-        if (totalLimit != null) {
-            predicates.add(criteriaBuilder.ge(root.get(Card_.TOTAL_LIMIT), totalLimit));
+        if (minTotalLimit != null) {
+            predicates.add(criteriaBuilder.ge(root.get(Card_.TOTAL_LIMIT), minTotalLimit));
         }
 
         if (predicates.isEmpty()) {
@@ -0,0 +1,92 @@
+package io.github.songminkyu.card.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import io.github.songminkyu.card.config.GraphQLProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each data fetcher takes, per {@code Type.field} and operation name.
+ *
+ * <p>Only a sample of operations is traced, chosen once per operation so that a traced
+ * operation is traced completely. Property fetchers that only read a field of their source
+ * are skipped unless {@code include-trivial} is set. Tags are bounded by the schema for the
+ * field and by {@link OperationNames} for the operation.</p>
+ */
+public class FieldTracingInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String FIELD_METRIC_NAME = "graphql.field.duration";
+
+    private final GraphQLProperties.Tracing settings;
+    private final OperationNames operationNames;
+    private final MeterRegistry meterRegistry;
+    private final Map<FieldKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public FieldTracingInstrumentation(
+        GraphQLProperties.Tracing settings,
+        OperationNames operationNames,
+        MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.operationNames = operationNames;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        double sampleRate = settings.getSampleRate();
+        boolean sampled = sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return sampled ? new TracingState() : null;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        if (state instanceof TracingState tracing) {
+            tracing.operation = operationNames.tagValue(parameters.getExecutionContext());
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(
+        InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (!(state instanceof TracingState tracing) || tracing.operation == null
+            || (parameters.isTrivialDataFetcher() && !settings.isIncludeTrivial())) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+        var stepInfo = parameters.getExecutionStepInfo();
+        var key = new FieldKey(stepInfo.getObjectType().getName(), parameters.getField().getName(), tracing.operation);
+        long start = System.nanoTime();
+        return FieldFetchingInstrumentationContext.adapter(SimpleInstrumentationContext.whenCompleted(
+            (value, error) -> timer(key).record(System.nanoTime() - start, TimeUnit.NANOSECONDS)));
+    }
+
+    private Timer timer(FieldKey key) {
+        return timers.computeIfAbsent(key, field -> Timer.builder(FIELD_METRIC_NAME)
+            .tag("field", field.type() + '.' + field.field())
+            .tag("operation", field.operation())
+            .publishPercentileHistogram(settings.isHistogram())
+            .description("Time taken by a GraphQL data fetcher")
+            .register(meterRegistry));
+    }
+
+    private record FieldKey(String type, String field, String operation) {
+    }
+
+    private static final class TracingState implements InstrumentationState {
+
+        private volatile String operation;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.songminkyu.card.graphql.instrumentation;
+
+import graphql.execution.ExecutionContext;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the operation names used as metric tags.
+ *
+ * <p>Operation names are chosen by clients, so only the first {@code maxNames} distinct
+ * ones become tag values; later ones are reported as {@value #OTHER}.</p>
+ */
+public class OperationNames {
+
+    static final String ANONYMOUS = "anonymous";
+    static final String OTHER = "other";
+
+    private final int maxNames;
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    public OperationNames(int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    public String tagValue(ExecutionContext executionContext) {
+        var operation = executionContext.getOperationDefinition();
+        String name = operation != null ? operation.getName() : null;
+        if (name == null || name.isEmpty()) {
+            return ANONYMOUS;
+        }
+        if (names.contains(name)) {
+            return name;
+        }
+        // concurrent first sightings may overshoot the bound by a few names
+        if (names.size() < maxNames) {
+            names.add(name);
+            return name;
+        }
+        return OTHER;
+    }
+}
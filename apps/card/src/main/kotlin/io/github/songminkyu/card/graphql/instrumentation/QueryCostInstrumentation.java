@@ -0,0 +1,172 @@
+package io.github.songminkyu.card.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLTypeUtil;
+import io.github.songminkyu.card.config.GraphQLProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects operations whose static cost, depth or alias count exceeds the configured budget,
+ * before any data fetcher runs.
+ *
+ * <p>Each field costs its weight, {@code Type.field} from {@code weights} or the default
+ * weight, plus the cost of its selection multiplied by the page it asks for: the
+ * {@code first} or {@code last} argument, or the default page size on a connection without
+ * either. Aliases are counted separately because each one re-executes its field. The check
+ * runs when the operation starts rather than during validation, since validation is skipped
+ * for documents served from the persisted query cache and the page size may come from
+ * variables.</p>
+ *
+ * <p>The cost of every operation is recorded in {@code graphql.operation.cost} and its
+ * execution time in {@code graphql.operation.duration}, both tagged by operation name.</p>
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String COST_METRIC_NAME = "graphql.operation.cost";
+    private static final String DURATION_METRIC_NAME = "graphql.operation.duration";
+    private static final String REJECTED_METRIC_NAME = "graphql.operation.rejected";
+    private static final String CONNECTION_SUFFIX = "Connection";
+
+    private final GraphQLProperties.Cost settings;
+    private final OperationNames operationNames;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> costs = new ConcurrentHashMap<>();
+    private final Map<String, Timer> durations = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public QueryCostInstrumentation(
+        GraphQLProperties.Cost settings,
+        OperationNames operationNames,
+        MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.operationNames = operationNames;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        var executionContext = parameters.getExecutionContext();
+        String operation = operationNames.tagValue(executionContext);
+        check(executionContext, operation);
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, error) ->
+            durations.computeIfAbsent(operation, name -> Timer.builder(DURATION_METRIC_NAME)
+                    .tag("operation", name)
+                    .description("Time taken to execute a GraphQL operation")
+                    .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private void check(ExecutionContext executionContext, String operation) {
+        var shape = shapeOf(executionContext);
+        if (shape.depth > settings.getMaxDepth()) {
+            reject(operation, "depth", "Query depth %d exceeds the limit of %d"
+                .formatted(shape.depth, settings.getMaxDepth()));
+        }
+        if (shape.aliases > settings.getMaxAliases()) {
+            reject(operation, "aliases", "Query uses %d aliases, more than the limit of %d"
+                .formatted(shape.aliases, settings.getMaxAliases()));
+        }
+        int cost = QueryComplexityCalculator.newCalculator()
+            .schema(executionContext.getGraphQLSchema())
+            .document(executionContext.getDocument())
+            .operationName(executionContext.getExecutionInput().getOperationName())
+            .variables(executionContext.getCoercedVariables())
+            .fieldComplexityCalculator(this::fieldCost)
+            .build()
+            .calculate();
+        costs.computeIfAbsent(operation, name -> DistributionSummary.builder(COST_METRIC_NAME)
+                .tag("operation", name)
+                .description("Static cost of a GraphQL operation")
+                .register(meterRegistry))
+            .record(cost);
+        if (cost > settings.getMaxCost()) {
+            reject(operation, "cost", "Query cost %d exceeds the limit of %d".formatted(cost, settings.getMaxCost()));
+        }
+    }
+
+    private int fieldCost(FieldComplexityEnvironment environment, int childCost) {
+        var field = environment.getFieldDefinition();
+        int weight = settings.getWeights().getOrDefault(
+            environment.getParentType().getName() + '.' + field.getName(), settings.getDefaultWeight());
+        long cost = weight + (long) pageSize(environment) * childCost;
+        return (int) Math.min(Integer.MAX_VALUE, cost);
+    }
+
+    private int pageSize(FieldComplexityEnvironment environment) {
+        var arguments = environment.getArguments();
+        for (String name : new String[] {"first", "last"}) {
+            if (arguments.get(name) instanceof Number size) {
+                return Math.max(0, size.intValue());
+            }
+        }
+        var type = GraphQLTypeUtil.unwrapAll(environment.getFieldDefinition().getType());
+        return type.getName().endsWith(CONNECTION_SUFFIX) ? settings.getDefaultPageSize() : 1;
+    }
+
+    private void reject(String operation, String reason, String message) {
+        rejections.computeIfAbsent(operation + ' ' + reason, key -> Counter.builder(REJECTED_METRIC_NAME)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .description("GraphQL operations rejected before execution for exceeding a limit")
+                .register(meterRegistry))
+            .increment();
+        log.debug("Rejecting GraphQL operation {}: {}", operation, message);
+        throw new AbortExecutionException(message);
+    }
+
+    private static Shape shapeOf(ExecutionContext executionContext) {
+        var shape = new Shape();
+        QueryTraverser.newQueryTraverser()
+            .schema(executionContext.getGraphQLSchema())
+            .document(executionContext.getDocument())
+            .operationName(executionContext.getExecutionInput().getOperationName())
+            .coercedVariables(executionContext.getCoercedVariables())
+            .build()
+            .visitPreOrder(new QueryVisitorStub() {
+                @Override
+                public void visitField(QueryVisitorFieldEnvironment environment) {
+                    if (environment.isTypeNameIntrospectionField()) {
+                        return;
+                    }
+                    if (environment.getField().getAlias() != null) {
+                        shape.aliases++;
+                    }
+                    int depth = 1;
+                    for (var parent = environment.getParentEnvironment(); parent != null;
+                         parent = parent.getParentEnvironment()) {
+                        depth++;
+                    }
+                    shape.depth = Math.max(shape.depth, depth);
+                }
+            });
+        return shape;
+    }
+
+    private static final class Shape {
+
+        private int depth;
+        private int aliases;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.songminkyu.card.graphql.persisted;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * LRU cache of parsed and validated GraphQL documents keyed by their SHA-256 hash.
+ * Entries with parse or validation errors are never stored.
+ */
+public class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+    private static final String CACHE_METRIC_NAME = "graphql.document.cache";
+    private static final String PARSE_METRIC_NAME = "graphql.document.parse";
+
+    private final Map<Object, PreparsedDocumentEntry> documents;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer parseTimer;
+
+    public BoundedPersistedQueryCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.documents = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, PreparsedDocumentEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder(CACHE_METRIC_NAME)
+            .tag("result", "hit")
+            .description("Number of GraphQL documents served from the parsed document cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder(CACHE_METRIC_NAME)
+            .tag("result", "miss")
+            .description("Number of GraphQL documents that had to be parsed and validated")
+            .register(meterRegistry);
+        this.parseTimer = Timer.builder(PARSE_METRIC_NAME)
+            .description("Time taken to parse and validate GraphQL documents")
+            .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC_NAME + ".size", documents, Map::size)
+            .description("Number of parsed GraphQL documents currently cached")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+        Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+        var cached = documents.get(persistedQueryId);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.increment();
+        // Parsing happens outside the map lock; a concurrent miss on the same id just parses twice.
+        var entry = parseTimer.record(() -> onCacheMiss.apply(executionInput.getQuery()));
+        if (entry != null && !entry.hasErrors()) {
+            documents.put(persistedQueryId, entry);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.songminkyu.card.graphql.persisted;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Apollo-style automatic persisted queries.
+ *
+ * <p>Clients may send only {@code extensions.persistedQuery.sha256Hash} and fall back to the
+ * full document on a {@code PersistedQueryNotFound} error. Requests without the extension are
+ * keyed by the hash of their document text, so every repeated operation skips parsing and
+ * validation.</p>
+ */
+public class DocumentCachingPersistedQuerySupport extends ApolloPersistedQuerySupport {
+
+    public DocumentCachingPersistedQuerySupport(PersistedQueryCache persistedQueryCache) {
+        super(persistedQueryCache);
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        var persistedQueryId = super.getPersistedQueryId(executionInput);
+        if (persistedQueryId.isPresent()) {
+            return persistedQueryId;
+        }
+        var query = executionInput.getQuery();
+        if (query == null || query.isBlank() || PERSISTED_QUERY_MARKER.equals(query)) {
+            return Optional.empty();
+        }
+        return Optional.of(sha256(query));
+    }
+
+    public static String sha256(String document) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                .digest(document.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,8 +2,23 @@ package io.github.songminkyu.card.mapper;
 
 import io.github.songminkyu.card.dto.CardDTO;
 import io.github.songminkyu.card.entity.Card;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface CardMapper extends EntityMapper<CardDTO, Card> {
+
+    /**
+     * Balances are owned by the authorization flow and never copied from a client supplied card.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "amountUsed", ignore = true)
+    @Mapping(target = "availableAmount", ignore = true)
+    void partialUpdate(@MappingTarget Card entity, CardDTO dto);
 }
@@ -0,0 +1,37 @@
+package io.github.songminkyu.card.repository;
+
+import io.github.songminkyu.card.entity.AuthorizationStatus;
+import io.github.songminkyu.card.entity.CardAuthorization;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardAuthorizationRepository extends JpaRepository<CardAuthorization, Long> {
+
+    List<CardAuthorization> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    /**
+     * Moves a pending hold to its final status in a single conditional statement.
+     *
+     * @return {@code 1} if the hold was pending and covers the captured amount, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update CardAuthorization a
+        set a.status = :status, a.capturedAmount = :capturedAmount, a.updatedAt = :updatedAt
+        where a.authorizationId = :authorizationId
+          and a.status = io.github.songminkyu.card.entity.AuthorizationStatus.PENDING
+          and a.amount >= :capturedAmount
+        """)
+    int complete(
+        @Param("authorizationId") Long authorizationId,
+        @Param("status") AuthorizationStatus status,
+        @Param("capturedAmount") int capturedAmount,
+        @Param("updatedAt") Instant updatedAt);
+}
@@ -0,0 +1,82 @@
+package io.github.songminkyu.card.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Conditional, single-statement updates of the balance columns of a card.
+ *
+ * <p>The statements go through JDBC rather than JPQL: a bulk JPQL update on {@code Card}
+ * clears its whole second-level cache region, which would empty the card cache on every
+ * charge. Callers evict the changed card instead. Holds lower {@code available_amount}
+ * only; captures move the captured part into {@code amount_used} and give back the rest.</p>
+ */
+@Repository
+public class CardBalanceRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public CardBalanceRepository(DataSource dataSource) {
+        this.jdbcClient = JdbcClient.create(dataSource);
+    }
+
+    public Optional<CardBalance> findByCardNumber(String cardNumber) {
+        return jdbcClient.sql("""
+                SELECT card_id, mobile_number, available_amount FROM card WHERE card_number = ?
+                """)
+            .param(cardNumber)
+            .query(CardBalance.class)
+            .optional();
+    }
+
+    public Optional<CardBalance> findById(Long cardId) {
+        return jdbcClient.sql("""
+                SELECT card_id, mobile_number, available_amount FROM card WHERE card_id = ?
+                """)
+            .param(cardId)
+            .query(CardBalance.class)
+            .optional();
+    }
+
+    /**
+     * Holds {@code amount} if the card still has that much available.
+     *
+     * @return whether the hold was placed.
+     */
+    public boolean hold(Long cardId, int amount, Instant now) {
+        return jdbcClient.sql("""
+                UPDATE card SET available_amount = available_amount - ?, updated_at = ?
+                WHERE card_id = ? AND available_amount >= ?
+                """)
+            .params(amount, Timestamp.from(now), cardId, amount)
+            .update() == 1;
+    }
+
+    /**
+     * Charges {@code captured} of a hold of {@code held} and makes the remainder available again.
+     */
+    public void capture(Long cardId, int held, int captured, Instant now) {
+        jdbcClient.sql("""
+                UPDATE card SET amount_used = amount_used + ?, available_amount = available_amount + ?, updated_at = ?
+                WHERE card_id = ?
+                """)
+            .params(captured, held - captured, Timestamp.from(now), cardId)
+            .update();
+    }
+
+    public void release(Long cardId, int held, Instant now) {
+        jdbcClient.sql("""
+                UPDATE card SET available_amount = available_amount + ?, updated_at = ?
+                WHERE card_id = ?
+                """)
+            .params(held, Timestamp.from(now), cardId)
+            .update();
+    }
+
+    public record CardBalance(Long cardId, String mobileNumber, int availableAmount) {
+    }
+}
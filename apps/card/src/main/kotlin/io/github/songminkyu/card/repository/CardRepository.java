@@ -4,15 +4,15 @@ import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 import io.github.songminkyu.card.entity.Card;
 import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Limit;
-import org.springframework.data.domain.ScrollPosition;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -29,6 +29,10 @@ public interface CardRepository extends JpaRepository<Card, Long>,
 
     Optional<Card> findByCardNumber(String cardNumber);
 
-    Window<Card> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    @Query("select c.mobileNumber from Card c where c.mobileNumber in :mobileNumbers")
+    Set<String> findMobileNumbersIn(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    @Query("select c.cardNumber from Card c where c.cardNumber in :cardNumbers")
+    Set<String> findCardNumbersIn(@Param("cardNumbers") Collection<String> cardNumbers);
 
 }
\ No newline at end of file
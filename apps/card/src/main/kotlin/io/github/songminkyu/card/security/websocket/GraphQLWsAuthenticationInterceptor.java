@@ -2,9 +2,12 @@ package io.github.songminkyu.card.security.websocket;
 
 import static reactor.core.publisher.Mono.empty;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.graphql.server.WebGraphQlInterceptor;
 import org.springframework.graphql.server.WebGraphQlRequest;
@@ -15,41 +18,80 @@ import org.springframework.graphql.server.WebSocketSessionInfo;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 
+/**
+ * Authenticates a GraphQL over WebSocket session once, from the bearer token of its
+ * {@code connection_init} payload.
+ *
+ * <p>The verified {@link Authentication} is kept in the session attributes until the token
+ * expires and handed to every operation of the session through the Reactor context, from
+ * which Spring GraphQL restores the {@link SecurityContext} around each data fetcher. No
+ * thread-local is left behind on the WebSocket thread. An expired session carries on
+ * unauthenticated, so the client has to reconnect with a fresh token.</p>
+ *
+ * <p>Token verification is timed in {@code graphql.websocket.authentication}, separately
+ * from operation execution; {@code graphql.websocket.authentication.reuse} counts the
+ * operations served from the session.</p>
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class GraphQLWsAuthenticationInterceptor implements WebSocketGraphQlInterceptor {
 
     private static final String AUTHORIZATION_CONNECTION_INIT_PAYLOAD_KEY_NAME = "Authorization";
     private static final String AUTHENTICATION_SESSION_ATTRIBUTE_KEY =
         GraphQLWsAuthenticationInterceptor.class.getCanonicalName() + ".authentication";
+    private static final String SECURITY_CONTEXT_KEY = SecurityContext.class.getName();
+    private static final String AUTHENTICATION_METRIC_NAME = "graphql.websocket.authentication";
 
     private final AuthenticationProvider authenticationProvider;
+    private final Timer authenticated;
+    private final Timer rejected;
+    private final Counter reused;
+    private final Counter expired;
+
+    public GraphQLWsAuthenticationInterceptor(
+        AuthenticationProvider authenticationProvider,
+        MeterRegistry meterRegistry) {
+        this.authenticationProvider = authenticationProvider;
+        this.authenticated = authenticationTimer(meterRegistry, "success");
+        this.rejected = authenticationTimer(meterRegistry, "failure");
+        this.reused = Counter.builder(AUTHENTICATION_METRIC_NAME + ".reuse")
+            .tag("result", "reused")
+            .description("GraphQL WebSocket operations authorized from the session's verified token")
+            .register(meterRegistry);
+        this.expired = Counter.builder(AUTHENTICATION_METRIC_NAME + ".reuse")
+            .tag("result", "expired")
+            .description("GraphQL WebSocket operations whose session token had expired")
+            .register(meterRegistry);
+    }
 
     @Override
     public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, WebGraphQlInterceptor.Chain chain) {
         if (!(request instanceof WebSocketGraphQlRequest wsRequest)) {
             return chain.next(request);
         }
-        var optionalAuthentication = Optional.of(wsRequest)
-            .map(webSocketGraphQlRequest -> getAuthentication(webSocketGraphQlRequest.getSessionInfo()))
-            .flatMap(this::authenticate);
-        optionalAuthentication.ifPresent(authentication ->
-            SecurityContextHolder.getContext().setAuthentication(authentication));
-        return chain.next(request);
-    }
-
-    @Override
-    public Mono<Void> handleCancelledSubscription(WebSocketSessionInfo sessionInfo, String subscriptionId) {
-        clearAuthentication(sessionInfo);
-        return empty();
+        var session = getAuthentication(wsRequest.getSessionInfo());
+        if (session == null) {
+            return chain.next(request);
+        }
+        if (session.isExpired(Instant.now())) {
+            expired.increment();
+            log.debug("Token of WebSocket session {} expired at {}", wsRequest.getSessionInfo().getId(),
+                session.expiresAt());
+            clearAuthentication(wsRequest.getSessionInfo());
+            return chain.next(request);
+        }
+        reused.increment();
+        var securityContext = new SecurityContextImpl(session.authentication());
+        return chain.next(request).contextWrite(context -> context.put(SECURITY_CONTEXT_KEY, securityContext));
     }
 
     @Override
@@ -63,7 +105,10 @@ public class GraphQLWsAuthenticationInterceptor implements WebSocketGraphQlInter
                                                        Map<String, Object> connectionInitPayload) {
         String accessToken = resolveToken(connectionInitPayload);
         if (StringUtils.hasText(accessToken)) {
-            setAuthentication(sessionInfo, new BearerTokenAuthenticationToken(accessToken));
+            var authentication = authenticate(new BearerTokenAuthenticationToken(accessToken.trim()));
+            if (authentication != null) {
+                setAuthentication(sessionInfo, new SessionAuthentication(authentication, expiresAt(authentication)));
+            }
         }
         return empty();
     }
@@ -81,14 +126,13 @@ public class GraphQLWsAuthenticationInterceptor implements WebSocketGraphQlInter
         return null;
     }
 
-
-    private BearerTokenAuthenticationToken getAuthentication(WebSocketSessionInfo webSocketSessionInfo) {
-        return (BearerTokenAuthenticationToken) webSocketSessionInfo.getAttributes()
+    private SessionAuthentication getAuthentication(WebSocketSessionInfo webSocketSessionInfo) {
+        return (SessionAuthentication) webSocketSessionInfo.getAttributes()
             .get(AUTHENTICATION_SESSION_ATTRIBUTE_KEY);
     }
 
     private void setAuthentication(WebSocketSessionInfo webSocketSessionInfo,
-                                   BearerTokenAuthenticationToken authentication) {
+                                   SessionAuthentication authentication) {
         webSocketSessionInfo.getAttributes().put(AUTHENTICATION_SESSION_ATTRIBUTE_KEY, authentication);
     }
 
@@ -96,13 +140,38 @@ public class GraphQLWsAuthenticationInterceptor implements WebSocketGraphQlInter
         webSocketSessionInfo.getAttributes().remove(AUTHENTICATION_SESSION_ATTRIBUTE_KEY);
     }
 
-    private Optional<Authentication> authenticate(Authentication authentication) {
+    private Authentication authenticate(Authentication authentication) {
+        long start = System.nanoTime();
         try {
-            return Optional.of(authenticationProvider.authenticate(authentication));
+            var result = authenticationProvider.authenticate(authentication);
+            authenticated.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
         } catch (AuthenticationException ex) {
-            return Optional.empty();
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Rejected GraphQL WebSocket token: {}", ex.getMessage());
+            return null;
         }
     }
-}
 
+    private static Instant expiresAt(Authentication authentication) {
+        if (authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> token
+            && token.getToken().getExpiresAt() != null) {
+            return token.getToken().getExpiresAt();
+        }
+        return Instant.MAX;
+    }
+
+    private static Timer authenticationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(AUTHENTICATION_METRIC_NAME)
+            .tag("result", result)
+            .description("Time taken to verify the bearer token of a GraphQL WebSocket connection")
+            .register(meterRegistry);
+    }
+
+    private record SessionAuthentication(Authentication authentication, Instant expiresAt) {
 
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
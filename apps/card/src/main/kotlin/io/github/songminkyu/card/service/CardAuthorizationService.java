@@ -0,0 +1,12 @@
+package io.github.songminkyu.card.service;
+
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
+
+public interface CardAuthorizationService {
+
+    CardAuthorizationDTO authorize(String cardNumber, int amount, String idempotencyKey);
+
+    CardAuthorizationDTO capture(Long authorizationId, Integer amount);
+
+    CardAuthorizationDTO release(Long authorizationId);
+}
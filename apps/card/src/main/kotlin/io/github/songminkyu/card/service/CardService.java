@@ -1,7 +1,12 @@
 package io.github.songminkyu.card.service;
 
+import io.github.songminkyu.card.consumer.CardChange;
 import io.github.songminkyu.card.dto.CardDTO;
+import io.github.songminkyu.card.dto.CardIssueProgressDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
+import io.github.songminkyu.card.filter.CardFilter;
 import io.reactivex.rxjava3.core.Flowable;
+import java.util.List;
 import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.query.ScrollSubrange;
 
@@ -9,13 +14,17 @@ public interface CardService {
 
     CardDTO createCard(String mobileNumber);
 
+    List<CardIssueResultDTO> createCards(List<String> mobileNumbers);
+
+    Flowable<CardIssueProgressDTO> issueCards(List<String> mobileNumbers);
+
     CardDTO getCard(String mobileNumber);
 
     boolean updateCard(String cardNumber, CardDTO card);
 
     void deleteCard(String mobileNumber);
 
-    Window<CardDTO> getAllCards(ScrollSubrange subrange);
+    Window<CardDTO> getAllCards(ScrollSubrange subrange, CardFilter filter);
 
-    Flowable<CardDTO> onNewCard();
+    Flowable<CardChange> onNewCard(String after, String mobileNumber, String cardType);
 }
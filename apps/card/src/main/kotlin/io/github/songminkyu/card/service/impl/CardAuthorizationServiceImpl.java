@@ -0,0 +1,256 @@
+package io.github.songminkyu.card.service.impl;
+
+import io.github.songminkyu.card.config.AuthorizationProperties;
+import io.github.songminkyu.card.config.Constants;
+import io.github.songminkyu.card.consumer.CardCacheInvalidator;
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
+import io.github.songminkyu.card.entity.AuthorizationStatus;
+import io.github.songminkyu.card.entity.Card;
+import io.github.songminkyu.card.entity.CardAuthorization;
+import io.github.songminkyu.card.exception.AuthorizationConflictException;
+import io.github.songminkyu.card.exception.EntityNotFoundException;
+import io.github.songminkyu.card.repository.CardAuthorizationRepository;
+import io.github.songminkyu.card.repository.CardBalanceRepository;
+import io.github.songminkyu.card.repository.CardBalanceRepository.CardBalance;
+import io.github.songminkyu.card.security.SecurityUtils;
+import io.github.songminkyu.card.service.CardAuthorizationService;
+import io.github.songminkyu.card.service.impl.CardHoldBatcher.PendingHold;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Places, captures and releases holds on the available amount of a card.
+ *
+ * <p>Every balance change is a single conditional statement, so concurrent charges can
+ * neither lose an update nor overdraw the card. Holds on the same card are batched by
+ * {@link CardHoldBatcher}: a batch reads the available amount once, admits holds in arrival
+ * order while they fit, and subtracts their sum with an update that only applies if that
+ * amount is still available. A batch that lost a race to another instance, or to a
+ * concurrent request reusing one of its idempotency keys, is retried as a whole.</p>
+ *
+ * <p>Idempotency keys are unique across cards. Repeating a request returns the recorded
+ * authorization, including a declined one, with {@code replayed} set.</p>
+ */
+@Service
+@Slf4j
+public class CardAuthorizationServiceImpl implements CardAuthorizationService {
+
+    private static final String AUTHORIZATIONS_METRIC_NAME = "card.authorizations";
+
+    private final CardAuthorizationRepository cardAuthorizationRepository;
+    private final CardBalanceRepository cardBalanceRepository;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int maxAttempts;
+    private final CardHoldBatcher holdBatcher;
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public CardAuthorizationServiceImpl(
+        CardAuthorizationRepository cardAuthorizationRepository,
+        CardBalanceRepository cardBalanceRepository,
+        CardCacheInvalidator cardCacheInvalidator,
+        PlatformTransactionManager transactionManager,
+        Clock clock,
+        AuthorizationProperties authorizationProperties,
+        MeterRegistry meterRegistry) {
+        this.cardAuthorizationRepository = cardAuthorizationRepository;
+        this.cardBalanceRepository = cardBalanceRepository;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.maxAttempts = Math.max(1, authorizationProperties.getMaxAttempts());
+        this.holdBatcher = new CardHoldBatcher(
+            Math.max(1, authorizationProperties.getMaxBatchSize()), this::applyHolds, meterRegistry);
+        for (var operation : new String[] {"authorize", "capture", "release"}) {
+            for (var result : new String[] {"approved", "declined", "replayed"}) {
+                counters.put(operation + ' ' + result, Counter.builder(AUTHORIZATIONS_METRIC_NAME)
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .description("Card authorization requests by outcome")
+                    .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public CardAuthorizationDTO authorize(String cardNumber, int amount, String idempotencyKey) {
+        String createdBy = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        var authorization = holdBatcher.submit(cardNumber, new PendingHold(amount, idempotencyKey, createdBy));
+        count("authorize", authorization);
+        return authorization;
+    }
+
+    @Override
+    public CardAuthorizationDTO capture(Long authorizationId, Integer amount) {
+        return complete(authorizationId, AuthorizationStatus.CAPTURED, amount);
+    }
+
+    @Override
+    public CardAuthorizationDTO release(Long authorizationId) {
+        return complete(authorizationId, AuthorizationStatus.RELEASED, null);
+    }
+
+    private void applyHolds(String cardNumber, List<PendingHold> holds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var batch = transactionTemplate.execute(status -> placeHolds(cardNumber, holds));
+                if (batch.held() > 0) {
+                    cardCacheInvalidator.invalidate(batch.balance().cardId(), batch.balance().mobileNumber());
+                }
+                for (int i = 0; i < holds.size(); i++) {
+                    var result = batch.results().get(i);
+                    if (result.error() != null) {
+                        holds.get(i).result().completeExceptionally(result.error());
+                    } else {
+                        holds.get(i).result().complete(toDto(result.authorization(), result.replayed()));
+                    }
+                }
+                return;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up on {} holds on card {} after {} attempts",
+                        holds.size(), mask(cardNumber), attempt);
+                    throw new AuthorizationConflictException(
+                        "Card " + mask(cardNumber) + " was changed concurrently, please retry");
+                }
+                log.debug("Retrying {} holds on card {}: {}", holds.size(), mask(cardNumber), ex.getMessage());
+            }
+        }
+    }
+
+    private HoldBatch placeHolds(String cardNumber, List<PendingHold> holds) {
+        var balance = cardBalanceRepository.findByCardNumber(cardNumber).orElseThrow(
+            () -> new EntityNotFoundException(Card.class, "cardNumber", cardNumber)
+        );
+        Map<String, CardAuthorization> authorizations = new HashMap<>();
+        cardAuthorizationRepository.findByIdempotencyKeyIn(holds.stream().map(PendingHold::idempotencyKey).toList())
+            .forEach(authorization -> authorizations.put(authorization.getIdempotencyKey(), authorization));
+        Instant now = clock.instant();
+        int held = 0;
+        List<CardAuthorization> created = new ArrayList<>();
+        List<HoldResult> results = new ArrayList<>(holds.size());
+        for (var hold : holds) {
+            var authorization = authorizations.get(hold.idempotencyKey());
+            if (authorization != null) {
+                boolean sameRequest = authorization.getCardId().equals(balance.cardId())
+                    && authorization.getAmount() == hold.amount();
+                // recorded before, or earlier in this batch
+                results.add(sameRequest ? new HoldResult(authorization, true, null) : new HoldResult(null, false,
+                    new AuthorizationConflictException(
+                        "Idempotency key " + hold.idempotencyKey() + " was used for another authorization")));
+                continue;
+            }
+            boolean approved = hold.amount() <= balance.availableAmount() - held;
+            if (approved) {
+                held += hold.amount();
+            }
+            authorization = CardAuthorization.builder()
+                .cardId(balance.cardId())
+                .idempotencyKey(hold.idempotencyKey())
+                .amount(hold.amount())
+                .status(approved ? AuthorizationStatus.PENDING : AuthorizationStatus.DECLINED)
+                .createdAt(now)
+                .createdBy(hold.createdBy())
+                .build();
+            authorizations.put(hold.idempotencyKey(), authorization);
+            created.add(authorization);
+            results.add(new HoldResult(authorization, false, null));
+        }
+        if (held > 0 && !cardBalanceRepository.hold(balance.cardId(), held, now)) {
+            throw new OptimisticLockingFailureException("Available amount of card " + cardNumber + " changed");
+        }
+        cardAuthorizationRepository.saveAllAndFlush(created);
+        return new HoldBatch(balance, held, results);
+    }
+
+    private CardAuthorizationDTO complete(Long authorizationId, AuthorizationStatus status, Integer amount) {
+        String operation = status == AuthorizationStatus.CAPTURED ? "capture" : "release";
+        var completion = transactionTemplate.execute(tx -> {
+            var authorization = findAuthorization(authorizationId);
+            int captured = status == AuthorizationStatus.CAPTURED
+                ? (amount != null ? amount : authorization.getAmount())
+                : 0;
+            Instant now = clock.instant();
+            if (authorization.getStatus() == AuthorizationStatus.PENDING
+                && cardAuthorizationRepository.complete(authorizationId, status, captured, now) == 1) {
+                if (status == AuthorizationStatus.CAPTURED) {
+                    cardBalanceRepository.capture(authorization.getCardId(), authorization.getAmount(), captured, now);
+                } else {
+                    cardBalanceRepository.release(authorization.getCardId(), authorization.getAmount(), now);
+                }
+                authorization.setStatus(status);
+                authorization.setCapturedAmount(captured);
+                authorization.setUpdatedAt(now);
+                return new Completion(authorization, false, cardBalanceRepository.findById(authorization.getCardId())
+                    .orElse(null));
+            }
+            // repeated or concurrent request: decide on the committed state
+            var current = findAuthorization(authorizationId);
+            if (current.getStatus() == status && current.getCapturedAmount() == captured) {
+                return new Completion(current, true, null);
+            }
+            if (current.getStatus() == AuthorizationStatus.PENDING) {
+                throw new AuthorizationConflictException("Cannot capture " + captured + " of authorization "
+                    + authorizationId + " holding " + current.getAmount());
+            }
+            throw new AuthorizationConflictException(
+                "Cannot " + operation + " authorization " + authorizationId + " which is " + current.getStatus());
+        });
+        if (completion.balance() != null) {
+            cardCacheInvalidator.invalidate(completion.balance().cardId(), completion.balance().mobileNumber());
+        }
+        var authorization = toDto(completion.authorization(), completion.replayed());
+        count(operation, authorization);
+        return authorization;
+    }
+
+    private CardAuthorization findAuthorization(Long authorizationId) {
+        return cardAuthorizationRepository.findById(authorizationId).orElseThrow(
+            () -> new EntityNotFoundException(
+                CardAuthorization.class, "authorizationId", String.valueOf(authorizationId))
+        );
+    }
+
+    private void count(String operation, CardAuthorizationDTO authorization) {
+        String result = authorization.replayed() ? "replayed"
+            : AuthorizationStatus.DECLINED.name().equals(authorization.status()) ? "declined" : "approved";
+        counters.get(operation + ' ' + result).increment();
+    }
+
+    private static CardAuthorizationDTO toDto(CardAuthorization authorization, boolean replayed) {
+        return new CardAuthorizationDTO(
+            authorization.getAuthorizationId(),
+            authorization.getIdempotencyKey(),
+            authorization.getAmount(),
+            authorization.getCapturedAmount(),
+            authorization.getStatus().name(),
+            replayed);
+    }
+
+    private static String mask(String cardNumber) {
+        int visible = Math.min(4, cardNumber.length());
+        return "*".repeat(cardNumber.length() - visible) + cardNumber.substring(cardNumber.length() - visible);
+    }
+
+    private record HoldBatch(CardBalance balance, int held, List<HoldResult> results) {
+    }
+
+    private record HoldResult(CardAuthorization authorization, boolean replayed, RuntimeException error) {
+    }
+
+    private record Completion(CardAuthorization authorization, boolean replayed, CardBalance balance) {
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.songminkyu.card.service.impl;
+
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Groups concurrent holds on the same card so that they are applied in one transaction.
+ *
+ * <p>Each card has a lane: a queue of pending holds and a flag owned by the request
+ * currently draining it. A request enqueues its hold and tries to take the flag; the
+ * owner applies up to {@code maxBatchSize} holds at a time until the batch holding its own
+ * hold is applied, while the other requests wait for their result. A hold on a quiet card
+ * is therefore applied right away by its own request, and under contention one balance
+ * update and one batch of inserts serve many requests instead of each request queueing on
+ * the row lock.</p>
+ *
+ * <p>The owner then releases the flag and wakes the waiting requests, one of which takes
+ * over the holds queued in the meantime. Since the queue is FIFO, an owner only ever applies
+ * the holds queued before its own, so a steady stream of new holds cannot keep it
+ * draining.</p>
+ */
+final class CardHoldBatcher {
+
+    private static final String BATCH_SIZE_METRIC_NAME = "card.authorization.batch.size";
+
+    private final int maxBatchSize;
+    private final BiConsumer<String, List<PendingHold>> applier;
+    private final DistributionSummary batchSize;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * @param applier applies a batch of holds on a card and completes each of their results.
+     */
+    CardHoldBatcher(int maxBatchSize, BiConsumer<String, List<PendingHold>> applier, MeterRegistry meterRegistry) {
+        this.maxBatchSize = maxBatchSize;
+        this.applier = applier;
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_METRIC_NAME)
+            .description("Number of card holds applied in one transaction")
+            .register(meterRegistry);
+    }
+
+    CardAuthorizationDTO submit(String cardNumber, PendingHold hold) {
+        Lane lane = lanes.computeIfAbsent(cardNumber, Lane::new);
+        lane.queue.add(hold);
+        lane.drain(hold);
+        try {
+            return hold.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private final class Lane {
+
+        private final String cardNumber;
+        private final Queue<PendingHold> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicReference<CompletableFuture<Void>> released =
+            new AtomicReference<>(new CompletableFuture<>());
+
+        private Lane(String cardNumber) {
+            this.cardNumber = cardNumber;
+        }
+
+        private void drain(PendingHold own) {
+            while (!own.result().isDone()) {
+                // read before trying the flag, so a release after a failed attempt is never missed
+                CompletableFuture<Void> release = released.get();
+                if (!draining.compareAndSet(false, true)) {
+                    CompletableFuture.anyOf(own.result(), release).exceptionally(ex -> null).join();
+                    continue;
+                }
+                try {
+                    List<PendingHold> batch;
+                    while (!own.result().isDone() && !(batch = poll()).isEmpty()) {
+                        apply(batch);
+                    }
+                } finally {
+                    draining.set(false);
+                    // hand the holds queued meanwhile over to a waiting request
+                    released.getAndSet(new CompletableFuture<>()).complete(null);
+                }
+            }
+            if (queue.isEmpty()) {
+                // a request still holding this lane drains its own hold, so nothing is stranded
+                lanes.remove(cardNumber, this);
+            }
+        }
+
+        private List<PendingHold> poll() {
+            List<PendingHold> batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+            PendingHold hold;
+            while (batch.size() < maxBatchSize && (hold = queue.poll()) != null) {
+                batch.add(hold);
+            }
+            return batch;
+        }
+
+        private void apply(List<PendingHold> batch) {
+            batchSize.record(batch.size());
+            try {
+                applier.accept(cardNumber, batch);
+            } catch (RuntimeException ex) {
+                batch.forEach(hold -> hold.result().completeExceptionally(ex));
+            }
+        }
+    }
+
+    record PendingHold(
+        int amount, String idempotencyKey, String createdBy, CompletableFuture<CardAuthorizationDTO> result) {
+
+        PendingHold(int amount, String idempotencyKey, String createdBy) {
+            this(amount, idempotencyKey, createdBy, new CompletableFuture<>());
+        }
+    }
+}
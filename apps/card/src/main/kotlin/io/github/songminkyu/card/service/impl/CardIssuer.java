@@ -0,0 +1,146 @@
+package io.github.songminkyu.card.service.impl;
+
+import static io.github.songminkyu.card.constants.Constants.RANDOM;
+
+import io.github.songminkyu.card.constants.CardConstants;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO.Status;
+import io.github.songminkyu.card.entity.Card;
+import io.github.songminkyu.card.exception.CardAlreadyExistsException;
+import io.github.songminkyu.card.mapper.CardMapper;
+import io.github.songminkyu.card.repository.CardRepository;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues the cards of one chunk of a bulk request in a single transaction.
+ *
+ * <p>Existing mobile numbers are found with one {@code IN} query, card numbers are drawn
+ * for the whole chunk and checked for collisions with another, and the new cards are
+ * inserted in JDBC batches. Inserted cards are not put in the second-level cache, which
+ * would otherwise cost one Redis call per card.</p>
+ *
+ * <p>The checks only skip the work; unique constraints on the mobile and card numbers decide.
+ * A chunk that loses a race for a mobile number to a concurrent request is rolled back and
+ * reported as {@link CardAlreadyExistsException}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CardIssuer {
+
+    private static final Pattern MOBILE_NUMBER = Pattern.compile("\\d{10}");
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+    private static final int MAX_CARD_NUMBER_DRAWS = 5;
+
+    static final String MOBILE_NUMBER_CONSTRAINT = "uc_card_mobile_number";
+
+    private final CardRepository cardRepository;
+
+    private final CardMapper cardMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns one result per mobile number, in order.
+     *
+     * @param seen mobile numbers of earlier chunks of the same request; updated with this chunk.
+     */
+    @Transactional
+    public List<CardIssueResultDTO> issue(List<String> mobileNumbers, Set<String> seen) {
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        var results = new CardIssueResultDTO[mobileNumbers.size()];
+        List<String> candidates = new ArrayList<>(mobileNumbers.size());
+        for (int i = 0; i < results.length; i++) {
+            String mobileNumber = mobileNumbers.get(i);
+            if (mobileNumber == null || !MOBILE_NUMBER.matcher(mobileNumber).matches()) {
+                results[i] = new CardIssueResultDTO(mobileNumber, Status.INVALID, null);
+            } else if (!seen.add(mobileNumber)) {
+                results[i] = new CardIssueResultDTO(mobileNumber, Status.DUPLICATE, null);
+            } else {
+                candidates.add(mobileNumber);
+            }
+        }
+        Set<String> existing = candidates.isEmpty() ? Set.of() : cardRepository.findMobileNumbersIn(candidates);
+        List<Card> cards = new ArrayList<>(candidates.size() - existing.size());
+        Iterator<String> cardNumbers = drawCardNumbers(candidates.size() - existing.size()).iterator();
+        for (String mobileNumber : candidates) {
+            if (!existing.contains(mobileNumber)) {
+                cards.add(Card.builder()
+                    .mobileNumber(mobileNumber)
+                    .cardNumber(cardNumbers.next())
+                    .cardType(CardConstants.CREDIT_CARD)
+                    .totalLimit(CardConstants.NEW_CARD_LIMIT)
+                    .amountUsed(0)
+                    .availableAmount(CardConstants.NEW_CARD_LIMIT)
+                    .build());
+            }
+        }
+        Iterator<Card> created;
+        try {
+            created = cardRepository.saveAllAndFlush(cards).iterator();
+        } catch (DataIntegrityViolationException ex) {
+            if (violates(ex, MOBILE_NUMBER_CONSTRAINT)) {
+                // another request issued one of these numbers after our existence check
+                throw new CardAlreadyExistsException(
+                    "Card already registered with one of the given mobileNumbers " + candidates);
+            }
+            throw ex;
+        }
+        for (int i = 0, candidate = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                String mobileNumber = candidates.get(candidate++);
+                results[i] = existing.contains(mobileNumber)
+                    ? new CardIssueResultDTO(mobileNumber, Status.ALREADY_EXISTS, null)
+                    : new CardIssueResultDTO(mobileNumber, Status.CREATED, cardMapper.toDto(created.next()));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Whether the failed insert or update broke the named unique constraint.
+     */
+    static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> drawCardNumbers(int count) {
+        Set<String> cardNumbers = new HashSet<>(count * 2);
+        for (int draw = 0; draw < MAX_CARD_NUMBER_DRAWS && cardNumbers.size() < count; draw++) {
+            Set<String> drawn = new HashSet<>();
+            while (drawn.size() < count - cardNumbers.size()) {
+                String cardNumber = Long.toString(100000000000L + RANDOM.nextInt(900000000));
+                if (!cardNumbers.contains(cardNumber)) {
+                    drawn.add(cardNumber);
+                }
+            }
+            drawn.removeAll(cardRepository.findCardNumbersIn(drawn));
+            cardNumbers.addAll(drawn);
+        }
+        if (cardNumbers.size() < count) {
+            throw new IllegalStateException("Could not draw " + count + " unused card numbers");
+        }
+        return cardNumbers;
+    }
+}
@@ -3,21 +3,33 @@ package io.github.songminkyu.card.service.impl;
 import static io.github.songminkyu.card.constants.Constants.RANDOM;
 
 import io.github.songminkyu.card.constants.CardConstants;
+import io.github.songminkyu.card.consumer.CardChange;
 import io.github.songminkyu.card.consumer.CardPublisher;
 import io.github.songminkyu.card.dto.CardDTO;
+import io.github.songminkyu.card.dto.CardIssueProgressDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
 import io.github.songminkyu.card.entity.Card;
 import io.github.songminkyu.card.exception.CardAlreadyExistsException;
 import io.github.songminkyu.card.exception.EntityNotFoundException;
+import io.github.songminkyu.card.filter.CardFilter;
 import io.github.songminkyu.card.mapper.CardMapper;
 import io.github.songminkyu.card.repository.CardRepository;
 import io.github.songminkyu.card.service.CardService;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.ScrollPosition;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -30,13 +42,46 @@ public class CardServiceImpl implements CardService {
 
     private final CardMapper cardMapper;
 
+    private final CardIssuer cardIssuer;
+
     @Override
     public CardDTO createCard(String mobileNumber) {
         if (cardRepository.existsByMobileNumber(mobileNumber)) {
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber " + mobileNumber);
         }
-        var card = cardRepository.save(createNewCard(mobileNumber));
-        return cardMapper.toDto(card);
+        try {
+            var card = cardRepository.save(createNewCard(mobileNumber));
+            return cardMapper.toDto(card);
+        } catch (DataIntegrityViolationException ex) {
+            if (CardIssuer.violates(ex, CardIssuer.MOBILE_NUMBER_CONSTRAINT)) {
+                throw new CardAlreadyExistsException("Card already registered with given mobileNumber " + mobileNumber);
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<CardIssueResultDTO> createCards(List<String> mobileNumbers) {
+        Set<String> seen = new HashSet<>();
+        List<CardIssueResultDTO> results = new ArrayList<>(mobileNumbers.size());
+        for (var chunk : chunks(mobileNumbers)) {
+            results.addAll(cardIssuer.issue(chunk, seen));
+        }
+        return results;
+    }
+
+    @Override
+    public Flowable<CardIssueProgressDTO> issueCards(List<String> mobileNumbers) {
+        // chunks are issued off the calling thread, as the caller that created them
+        Executor executor = new DelegatingSecurityContextExecutor(
+            Schedulers.io()::scheduleDirect, SecurityContextHolder.getContext());
+        return Flowable.defer(() -> {
+                Set<String> seen = new HashSet<>();
+                var processed = new AtomicInteger();
+                return Flowable.fromIterable(chunks(mobileNumbers)).map(chunk -> new CardIssueProgressDTO(
+                    processed.addAndGet(chunk.size()), mobileNumbers.size(), cardIssuer.issue(chunk, seen)));
+            })
+            .subscribeOn(Schedulers.from(executor));
     }
 
     @Override
@@ -67,17 +112,29 @@ public class CardServiceImpl implements CardService {
     }
 
     @Override
-    public Window<CardDTO> getAllCards(ScrollSubrange subrange) {
-        ScrollPosition scrollPosition = subrange.position().orElse(ScrollPosition.offset());
-        Limit limit = Limit.of(subrange.count().orElse(10));
-        Sort sort = Sort.by("cardId").ascending();
-        return cardRepository.findAllBy(scrollPosition, limit, sort)
+    public Window<CardDTO> getAllCards(ScrollSubrange subrange, CardFilter filter) {
+        // keyset on the primary key: every page is an index seek, however deep. Keyset scrolling
+        // always orders by the id last, so sorting by cardId here too would only repeat the key
+        ScrollPosition scrollPosition = subrange.position().orElseGet(() -> subrange.forward()
+            ? ScrollPosition.keyset()
+            : ScrollPosition.keyset().backward());
+        int limit = subrange.count().orElse(10);
+        return cardRepository.findBy(filter, query -> query.limit(limit).scroll(scrollPosition))
             .map(cardMapper::toDto);
     }
 
     @Override
-    public Flowable<CardDTO> onNewCard() {
-        return cardPublisher.getPublisher();
+    public Flowable<CardChange> onNewCard(String after, String mobileNumber, String cardType) {
+        return cardPublisher.subscribe(after, mobileNumber, cardType);
+    }
+
+    private static List<List<String>> chunks(List<String> mobileNumbers) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < mobileNumbers.size(); from += CardConstants.CARD_ISSUE_CHUNK_SIZE) {
+            chunks.add(mobileNumbers.subList(
+                from, Math.min(from + CardConstants.CARD_ISSUE_CHUNK_SIZE, mobileNumbers.size())));
+        }
+        return chunks;
     }
 
     private Card createNewCard(String mobileNumber) {
@@ -0,0 +1,161 @@
+package io.github.songminkyu.card.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.songminkyu.card.config.GraphQLProperties;
+import io.github.songminkyu.card.debezium.data.DebeziumEventDetails;
+import io.github.songminkyu.card.debezium.data.Operation;
+import io.github.songminkyu.card.debezium.data.Payload;
+import io.github.songminkyu.card.entity.Card;
+import io.github.songminkyu.card.mapper.CardMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.Codec;
+import org.redisson.misc.CompletableFutureWrapper;
+
+/**
+ * Two card instances sharing one Redis topic, stood in for by an in-memory topic that encodes
+ * every message with the broadcaster's codec, as the wire would.
+ */
+class RedissonCardChangeBroadcasterTest {
+
+    private static final String TOPIC = "card-changes";
+
+    private final Map<Integer, MessageListener<Object>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger listenerIds = new AtomicInteger();
+
+    @Test
+    void testChangeConsumedOnOneInstanceReachesSubscribersOnAll() {
+        var consuming = new Instance();
+        var other = new Instance();
+        var all = other.publisher.subscribe(null, null, null).test();
+        var mobileNumberOnly = other.publisher.subscribe(null, "4354437687", null).test();
+        var onConsuming = consuming.publisher.subscribe(null, null, "credit card").test();
+
+        consuming.consume(event(101, Operation.CREATE, card(1L, "4354437687", "Credit Card")),
+            event(102, Operation.UPDATE, card(2L, "4354437688", "Debit Card")));
+
+        all.assertValueCount(2);
+        assertThat(all.values()).extracting(CardChange::cardId).containsExactly(1L, 2L);
+        assertThat(all.values().get(1).card().cardType()).isEqualTo("Debit Card");
+        mobileNumberOnly.assertValueCount(1);
+        assertThat(mobileNumberOnly.values().get(0).sequence()).isEqualTo(101);
+        onConsuming.assertValueCount(1);
+        assertThat(onConsuming.values().get(0).operation()).isEqualTo(Operation.CREATE);
+    }
+
+    @Test
+    void testSubscriberResumesFromAnyInstance() {
+        var consuming = new Instance();
+        var other = new Instance();
+        consuming.consume(event(101, Operation.CREATE, card(1L, "4354437687", "Credit Card")),
+            event(102, Operation.UPDATE, card(1L, "4354437687", "Credit Card")),
+            event(103, Operation.DELETE, card(1L, "4354437687", "Credit Card")));
+
+        // reconnected to another instance than the one it saw 101 on
+        var resumed = other.publisher.subscribe("101", null, null).test();
+
+        assertThat(resumed.values()).extracting(CardChange::sequence).containsExactly(102L, 103L);
+    }
+
+    @Test
+    void testClosedInstanceStopsListening() {
+        var consuming = new Instance();
+        var closed = new Instance();
+        var subscriber = closed.publisher.subscribe(null, null, null).test();
+
+        closed.broadcaster.close();
+        consuming.consume(event(101, Operation.CREATE, card(1L, "4354437687", "Credit Card")));
+
+        subscriber.assertNoValues();
+        assertThat(subscribers).hasSize(1);
+    }
+
+    private RedissonClient redissonClient() {
+        var redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(anyString(), any(Codec.class))).thenAnswer(invocation -> {
+            assertThat(invocation.<String>getArgument(0)).isEqualTo(TOPIC);
+            return topic(invocation.getArgument(1));
+        });
+        return redissonClient;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RTopic topic(Codec codec) {
+        var topic = mock(RTopic.class);
+        when(topic.addListener(any(Class.class), any(MessageListener.class))).thenAnswer(invocation -> {
+            int id = listenerIds.incrementAndGet();
+            subscribers.put(id, invocation.getArgument(1));
+            return id;
+        });
+        when(topic.publishAsync(any())).thenAnswer(invocation -> {
+            var encoded = codec.getValueEncoder().encode(invocation.getArgument(0));
+            try {
+                var message = codec.getValueDecoder().decode(encoded, null);
+                subscribers.values().forEach(listener -> listener.onMessage(TOPIC, message));
+                return new CompletableFutureWrapper<>((long) subscribers.size());
+            } finally {
+                encoded.release();
+            }
+        });
+        doAnswer(invocation -> {
+            for (Object id : invocation.getArguments()) {
+                subscribers.remove(id);
+            }
+            return null;
+        }).when(topic).removeListener(any(Integer[].class));
+        return topic;
+    }
+
+    private static Card card(Long cardId, String mobileNumber, String cardType) {
+        return Card.builder()
+            .cardId(cardId)
+            .mobileNumber(mobileNumber)
+            .cardNumber("10067548426" + cardId)
+            .cardType(cardType)
+            .totalLimit(100000)
+            .amountUsed(0)
+            .availableAmount(100000)
+            .build();
+    }
+
+    private static DebeziumEventDetails<Card> event(long lsn, Operation operation, Card card) {
+        var payload = new Payload<>(
+            operation == Operation.CREATE ? null : card,
+            operation == Operation.DELETE ? null : card,
+            Map.of("lsn", lsn, "ts_ms", System.currentTimeMillis()),
+            operation,
+            Instant.now());
+        return new DebeziumEventDetails<>(Map.of(), payload);
+    }
+
+    private class Instance {
+
+        private final RedissonCardChangeBroadcaster broadcaster =
+            new RedissonCardChangeBroadcaster(redissonClient(), TOPIC);
+        private final CardPublisher publisher = new CardPublisher(
+            new CardMapperImpl(),
+            new GraphQLProperties(),
+            broadcaster,
+            mock(CardCacheInvalidator.class),
+            new SimpleMeterRegistry());
+
+        @SafeVarargs
+        private void consume(DebeziumEventDetails<Card>... events) {
+            publisher.processCardDebeziumEvent().accept(List.of(events));
+        }
+    }
+}
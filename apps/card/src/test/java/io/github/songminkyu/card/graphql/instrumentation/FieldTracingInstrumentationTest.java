@@ -0,0 +1,100 @@
+package io.github.songminkyu.card.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.github.songminkyu.card.config.GraphQLProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FieldTracingInstrumentationTest {
+
+    private static final String SCHEMA = """
+        type Query {
+          card(mobileNumber: String): Card
+        }
+        type Card {
+          cardNumber: String
+          totalLimit: Int
+        }
+        """;
+    private static final String QUERY = "query FetchCard { card { cardNumber totalLimit } }";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GraphQLProperties.Tracing settings = new GraphQLProperties.Tracing();
+
+    @Test
+    void testEveryOperationIsTracedAtFullSampleRate() {
+        settings.setSampleRate(1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(execute(QUERY).getErrors()).isEmpty();
+        }
+
+        var card = meterRegistry.get("graphql.field.duration")
+            .tag("field", "Query.card").tag("operation", "FetchCard").timer();
+        assertThat(card.count()).isEqualTo(5);
+        // property fetchers only read their source and are left out by default
+        assertThat(meterRegistry.find("graphql.field.duration").tag("field", "Card.cardNumber").timer()).isNull();
+    }
+
+    @Test
+    void testNoOperationIsTracedAtZeroSampleRate() {
+        settings.setSampleRate(0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(execute(QUERY).getErrors()).isEmpty();
+        }
+
+        assertThat(meterRegistry.find("graphql.field.duration").timers()).isEmpty();
+    }
+
+    @Test
+    void testTrivialFetchersAreTracedWhenIncluded() {
+        settings.setSampleRate(1);
+        settings.setIncludeTrivial(true);
+
+        execute(QUERY);
+
+        assertThat(meterRegistry.find("graphql.field.duration").timers())
+            .map(timer -> timer.getId().getTag("field"))
+            .containsExactlyInAnyOrder("Query.card", "Card.cardNumber", "Card.totalLimit");
+    }
+
+    @Test
+    void testSampledOperationIsTracedCompletely() {
+        settings.setSampleRate(0.5);
+        settings.setIncludeTrivial(true);
+
+        for (int i = 0; i < 200; i++) {
+            execute(QUERY);
+        }
+
+        long traced = count("Query.card");
+        // sampled per operation, so every field of a traced operation is recorded together
+        assertThat(count("Card.cardNumber")).isEqualTo(traced);
+        assertThat(count("Card.totalLimit")).isEqualTo(traced);
+        assertThat(traced).isBetween(40L, 160L);
+    }
+
+    private long count(String field) {
+        Timer timer = meterRegistry.find("graphql.field.duration").tag("field", field).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private ExecutionResult execute(String query) {
+        var wiring = RuntimeWiring.newRuntimeWiring()
+            .type("Query", type -> type.dataFetcher("card",
+                environment -> Map.of("cardNumber", "100646930341", "totalLimit", 100000)))
+            .build();
+        var schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        var instrumentation = new FieldTracingInstrumentation(settings, new OperationNames(10), meterRegistry);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build().execute(query);
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.songminkyu.card.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AbortExecutionException;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.github.songminkyu.card.config.GraphQLProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class QueryCostInstrumentationTest {
+
+    private static final String SCHEMA = """
+        type Query {
+          card(mobileNumber: String): Card
+          cards(first: Int): CardConnection
+        }
+        type Card {
+          cardNumber: String
+          totalLimit: Int
+          owner: Owner
+        }
+        type Owner {
+          name: String
+          card: Card
+        }
+        type CardConnection {
+          edges: [CardEdge]
+        }
+        type CardEdge {
+          node: Card
+        }
+        """;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GraphQLProperties.Cost settings = new GraphQLProperties.Cost();
+    private final AtomicInteger fetched = new AtomicInteger();
+
+    @Test
+    void testQueryWithinBudgetIsExecuted() {
+        var result = execute("query FetchCard { card(mobileNumber: \"4354437687\") { cardNumber totalLimit } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(fetched).hasValue(1);
+        // card, cardNumber and totalLimit at the default weight of 1
+        assertThat(meterRegistry.get("graphql.operation.cost").tag("operation", "FetchCard").summary().max())
+            .isEqualTo(3);
+        assertThat(meterRegistry.get("graphql.operation.duration").tag("operation", "FetchCard").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testCostMultipliesSelectionsByPageSize() {
+        settings.setMaxCost(100);
+
+        // cards + 50 * (edges + node + cardNumber)
+        var rejected = execute("query Cards { cards(first: 50) { edges { node { cardNumber } } } }");
+        var admitted = execute("query Cards { cards(first: 10) { edges { node { cardNumber } } } }");
+
+        assertRejected(rejected, "Query cost 151 exceeds the limit of 100");
+        assertThat(admitted.getErrors()).isEmpty();
+        assertThat(rejections("Cards", "cost")).isEqualTo(1);
+    }
+
+    @Test
+    void testConnectionWithoutPageSizeUsesTheDefault() {
+        settings.setMaxCost(30);
+        settings.setDefaultPageSize(20);
+
+        var result = execute("query Cards { cards { edges { node { cardNumber } } } }");
+
+        assertRejected(result, "Query cost 61 exceeds the limit of 30");
+    }
+
+    @Test
+    void testTooDeepQueryIsRejected() {
+        settings.setMaxDepth(4);
+
+        var result = execute("query Deep { card { owner { card { owner { name } } } } }");
+
+        assertRejected(result, "Query depth 5 exceeds the limit of 4");
+        assertThat(rejections("Deep", "depth")).isEqualTo(1);
+    }
+
+    @Test
+    void testTooManyAliasesAreRejected() {
+        settings.setMaxAliases(2);
+
+        var result = execute("query Aliased { a: card { cardNumber } b: card { cardNumber } c: card { cardNumber } }");
+
+        assertRejected(result, "Query uses 3 aliases, more than the limit of 2");
+        assertThat(rejections("Aliased", "aliases")).isEqualTo(1);
+    }
+
+    @Test
+    void testOperationTagIsBounded() {
+        var instrumentation = new QueryCostInstrumentation(settings, new OperationNames(1), meterRegistry);
+
+        execute(instrumentation, "query First { card { cardNumber } }");
+        execute(instrumentation, "query Second { card { cardNumber } }");
+        execute(instrumentation, "{ card { cardNumber } }");
+
+        assertThat(meterRegistry.find("graphql.operation.cost").summaries())
+            .map(summary -> summary.getId().getTag("operation"))
+            .containsExactlyInAnyOrder("First", OperationNames.OTHER, OperationNames.ANONYMOUS);
+    }
+
+    private ExecutionResult execute(String query) {
+        return execute(new QueryCostInstrumentation(settings, new OperationNames(10), meterRegistry), query);
+    }
+
+    private ExecutionResult execute(QueryCostInstrumentation instrumentation, String query) {
+        var wiring = RuntimeWiring.newRuntimeWiring()
+            .type("Query", type -> type
+                .dataFetcher("card", environment -> {
+                    fetched.incrementAndGet();
+                    return Map.of("cardNumber", "100646930341", "totalLimit", 100000);
+                })
+                .dataFetcher("cards", environment -> Map.of("edges", List.of())))
+            .build();
+        var schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build().execute(query);
+    }
+
+    private void assertRejected(ExecutionResult result, String message) {
+        assertThat(result.getErrors()).singleElement()
+            .isInstanceOf(AbortExecutionException.class)
+            .satisfies(error -> assertThat(error.getMessage()).isEqualTo(message));
+        assertThat(fetched).hasValue(0);
+    }
+
+    private double rejections(String operation, String reason) {
+        return meterRegistry.get("graphql.operation.rejected")
+            .tag("operation", operation).tag("reason", reason).counter().count();
+    }
+}
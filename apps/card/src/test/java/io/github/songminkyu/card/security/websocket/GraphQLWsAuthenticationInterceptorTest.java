@@ -0,0 +1,182 @@
+package io.github.songminkyu.card.security.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+class GraphQLWsAuthenticationInterceptorTest {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthenticationProvider authenticationProvider = mock(AuthenticationProvider.class);
+    private final GraphQLWsAuthenticationInterceptor interceptor =
+        new GraphQLWsAuthenticationInterceptor(authenticationProvider, meterRegistry);
+    private final WebGraphQlHandler handler = handler(interceptor);
+    private final Session session = new Session();
+
+    @Test
+    void testConnectionIsAuthenticatedOnceForAllItsOperations() {
+        when(authenticationProvider.authenticate(any())).thenReturn(jwt(Instant.now().plusSeconds(300)));
+
+        connect("Bearer token");
+
+        assertThat(whoami(1)).isEqualTo("john.doe");
+        assertThat(whoami(2)).isEqualTo("john.doe");
+        verify(authenticationProvider, times(1)).authenticate(new BearerTokenAuthenticationToken("token"));
+        assertThat(count("graphql.websocket.authentication.reuse", "reused")).isEqualTo(2);
+        assertThat(meterRegistry.get("graphql.websocket.authentication").tag("result", "success").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testExpiredSessionIsNoLongerAuthenticated() {
+        when(authenticationProvider.authenticate(any())).thenReturn(jwt(Instant.now().minusSeconds(1)));
+
+        connect("Bearer token");
+
+        assertThat(whoami(1)).isEqualTo(ANONYMOUS);
+        assertThat(whoami(2)).isEqualTo(ANONYMOUS);
+        // the expired authentication is dropped from the session on first use
+        assertThat(count("graphql.websocket.authentication.reuse", "expired")).isEqualTo(1);
+        assertThat(count("graphql.websocket.authentication.reuse", "reused")).isZero();
+    }
+
+    @Test
+    void testRejectedTokenLeavesTheSessionUnauthenticated() {
+        when(authenticationProvider.authenticate(any())).thenThrow(new BadCredentialsException("invalid"));
+
+        connect("Bearer token");
+
+        assertThat(whoami(1)).isEqualTo(ANONYMOUS);
+        assertThat(meterRegistry.get("graphql.websocket.authentication").tag("result", "failure").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testConnectionWithoutBearerTokenIsNotAuthenticated() {
+        connect("Basic dXNlcjpwYXNz");
+
+        assertThat(whoami(1)).isEqualTo(ANONYMOUS);
+        verify(authenticationProvider, times(0)).authenticate(any());
+    }
+
+    @Test
+    void testConnectionClosedDropsTheAuthentication() {
+        when(authenticationProvider.authenticate(any())).thenReturn(jwt(Instant.now().plusSeconds(300)));
+        connect("Bearer token");
+
+        interceptor.handleConnectionClosed(session, 1000, Map.of());
+
+        assertThat(session.getAttributes()).isEmpty();
+    }
+
+    private void connect(String authorization) {
+        interceptor.handleConnectionInitialization(session, Map.of("Authorization", authorization)).block();
+    }
+
+    /**
+     * Runs an operation on the session and returns the name the data fetcher found in its
+     * {@code SecurityContext}.
+     */
+    private String whoami(int id) {
+        var request = new WebSocketGraphQlRequest(
+            session.getUri(), session.getHeaders(), new LinkedMultiValueMap<>(), null, Map.of(),
+            Map.of("query", "{ whoami }"), String.valueOf(id), Locale.ENGLISH, session);
+        var response = handler.handleRequest(request).block();
+        assertThat(response.getErrors()).isEmpty();
+        return response.field("whoami").getValue();
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tag("result", result).counter().count();
+    }
+
+    private static JwtAuthenticationToken jwt(Instant expiresAt) {
+        var jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("john.doe")
+            .issuedAt(expiresAt.minusSeconds(600))
+            .expiresAt(expiresAt)
+            .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+
+    private static WebGraphQlHandler handler(GraphQLWsAuthenticationInterceptor interceptor) {
+        var wiring = RuntimeWiring.newRuntimeWiring()
+            .type("Query", type -> type.dataFetcher("whoami", environment -> {
+                var authentication = SecurityContextHolder.getContext().getAuthentication();
+                return authentication != null ? authentication.getName() : ANONYMOUS;
+            }))
+            .build();
+        var schema = new SchemaGenerator()
+            .makeExecutableSchema(new SchemaParser().parse("type Query { whoami: String }"), wiring);
+        var service = new DefaultExecutionGraphQlService(GraphQlSource.builder(schema).build());
+        return WebGraphQlHandler.builder(service).interceptor(interceptor).build();
+    }
+
+    private static final class Session implements WebSocketSessionInfo {
+
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        public String getId() {
+            return "session";
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("ws://localhost/subscription");
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Mono<Principal> getPrincipal() {
+            return Mono.empty();
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+    }
+}
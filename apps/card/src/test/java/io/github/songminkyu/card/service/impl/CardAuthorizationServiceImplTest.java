@@ -0,0 +1,218 @@
+package io.github.songminkyu.card.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.github.songminkyu.card.JpaTestConfiguration;
+import io.github.songminkyu.card.config.AuthorizationProperties;
+import io.github.songminkyu.card.consumer.CardCacheInvalidator;
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
+import io.github.songminkyu.card.entity.Card;
+import io.github.songminkyu.card.repository.CardAuthorizationRepository;
+import io.github.songminkyu.card.repository.CardBalanceRepository;
+import io.github.songminkyu.card.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringJUnitConfig(JpaTestConfiguration.class)
+class CardAuthorizationServiceImplTest {
+
+    private static final int THREADS = 32;
+    private static final int LIMIT = 500_000;
+    private static final AtomicInteger CARD_NUMBERS = new AtomicInteger();
+
+    @Autowired
+    private CardAuthorizationRepository cardAuthorizationRepository;
+
+    @Autowired
+    private CardBalanceRepository cardBalanceRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    private CardAuthorizationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(new AuthorizationProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentHoldsNeverOverdraw() throws Exception {
+        var card = card();
+        // 2000 holds of 300 against 500,000: exactly 1666 fit, whatever the interleaving
+        var results = authorizeConcurrently(card.getCardNumber(), 2000, 300, "overdraw-");
+
+        long approved = results.stream().filter(result -> "PENDING".equals(result.status())).count();
+        long declined = results.stream().filter(result -> "DECLINED".equals(result.status())).count();
+        assertThat(approved).isEqualTo(LIMIT / 300);
+        assertThat(declined).isEqualTo(2000 - approved);
+        assertThat(availableAmount(card)).isEqualTo(LIMIT - 300 * approved);
+        assertThat(heldAmount(card)).isEqualTo(300 * approved);
+    }
+
+    @Test
+    void testConcurrentHoldsAreBatched() throws Exception {
+        var card = card();
+        authorizeConcurrently(card.getCardNumber(), 2000, 100, "batched-");
+
+        // combining is what makes a hot card scale: far fewer balance updates than holds
+        var batches = meterRegistry.get("card.authorization.batch.size").summary();
+        assertThat(batches.totalAmount()).isEqualTo(2000);
+        assertThat(batches.count()).isLessThan(2000);
+        assertThat(availableAmount(card)).isEqualTo(LIMIT - 2000 * 100);
+    }
+
+    @Test
+    void testUnbatchedHoldsNeverOverdraw() throws Exception {
+        var properties = new AuthorizationProperties();
+        properties.setMaxBatchSize(1);
+        service = service(properties);
+        var card = card();
+        var results = authorizeConcurrently(card.getCardNumber(), 500, 1500, "unbatched-");
+
+        long approved = results.stream().filter(result -> "PENDING".equals(result.status())).count();
+        assertThat(approved).isEqualTo(LIMIT / 1500);
+        assertThat(availableAmount(card)).isEqualTo(LIMIT - 1500 * approved);
+    }
+
+    @Test
+    void testReplayedKeysHoldOnce() throws Exception {
+        var card = card();
+        var first = authorizeConcurrently(card.getCardNumber(), 200, 1000, "replay-");
+        var second = authorizeConcurrently(card.getCardNumber(), 200, 1000, "replay-");
+
+        assertThat(first).noneMatch(CardAuthorizationDTO::replayed);
+        assertThat(second).allMatch(CardAuthorizationDTO::replayed);
+        assertThat(availableAmount(card)).isEqualTo(LIMIT - 200 * 1000);
+    }
+
+    @Test
+    void testConcurrentCapturesApplyOnce() throws Exception {
+        var card = card();
+        var holds = authorizeConcurrently(card.getCardNumber(), 100, 1000, "capture-");
+
+        List<Callable<CardAuthorizationDTO>> captures = new ArrayList<>();
+        for (var hold : holds) {
+            for (int i = 0; i < 4; i++) {
+                captures.add(() -> service.capture(hold.authorizationId(), 600));
+            }
+        }
+        var results = invokeAll(captures);
+
+        assertThat(results).filteredOn(result -> !result.replayed()).hasSize(100);
+        assertThat(results).allMatch(result -> "CAPTURED".equals(result.status()));
+        var balance = balance(card);
+        assertThat(balance.amountUsed()).isEqualTo(100 * 600);
+        assertThat(balance.availableAmount()).isEqualTo(LIMIT - 100 * 600);
+    }
+
+    @Test
+    void testCardUpdateKeepsBalances() throws Exception {
+        var card = card();
+        // a stale copy of the card, loaded before the holds were placed
+        var stale = cardRepository.findById(card.getCardId()).orElseThrow();
+        authorizeConcurrently(card.getCardNumber(), 10, 1000, "update-");
+
+        stale.setCardType("Debit Card");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> cardRepository.save(stale));
+
+        var updated = balance(card);
+        assertThat(updated.cardType()).isEqualTo("Debit Card");
+        assertThat(updated.availableAmount()).isEqualTo(LIMIT - 10 * 1000);
+    }
+
+    private CardAuthorizationServiceImpl service(AuthorizationProperties properties) {
+        return new CardAuthorizationServiceImpl(
+            cardAuthorizationRepository,
+            cardBalanceRepository,
+            mock(CardCacheInvalidator.class),
+            transactionManager,
+            Clock.systemUTC(),
+            properties,
+            meterRegistry);
+    }
+
+    private Card card() {
+        var number = CARD_NUMBERS.incrementAndGet();
+        var card = new Card();
+        card.setMobileNumber(String.format("43544%05d", number));
+        card.setCardNumber(String.format("1006754%05d", number));
+        card.setCardType("Credit Card");
+        card.setTotalLimit(LIMIT);
+        card.setAmountUsed(0);
+        card.setAvailableAmount(LIMIT);
+        return cardRepository.save(card);
+    }
+
+    private List<CardAuthorizationDTO> authorizeConcurrently(String cardNumber, int holds, int amount, String prefix)
+        throws Exception {
+        List<Callable<CardAuthorizationDTO>> tasks = new ArrayList<>();
+        for (int i = 0; i < holds; i++) {
+            var idempotencyKey = prefix + cardNumber + '-' + i;
+            tasks.add(() -> service.authorize(cardNumber, amount, idempotencyKey));
+        }
+        return invokeAll(tasks);
+    }
+
+    private List<CardAuthorizationDTO> invokeAll(List<Callable<CardAuthorizationDTO>> tasks) throws Exception {
+        List<CardAuthorizationDTO> results = new ArrayList<>();
+        for (Future<CardAuthorizationDTO> future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private long availableAmount(Card card) {
+        return balance(card).availableAmount();
+    }
+
+    private long heldAmount(Card card) {
+        return JdbcClient.create(dataSource)
+            .sql("SELECT COALESCE(SUM(amount), 0) FROM card_authorization WHERE card_id = ? AND status = 'PENDING'")
+            .param(card.getCardId())
+            .query(Long.class)
+            .single();
+    }
+
+    private Balance balance(Card card) {
+        return JdbcClient.create(dataSource)
+            .sql("SELECT card_type, amount_used, available_amount FROM card WHERE card_id = ?")
+            .param(card.getCardId())
+            .query(Balance.class)
+            .single();
+    }
+
+    private record Balance(String cardType, int amountUsed, int availableAmount) {
+    }
+}
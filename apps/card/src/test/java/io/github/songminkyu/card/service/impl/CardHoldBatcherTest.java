@@ -0,0 +1,147 @@
+package io.github.songminkyu.card.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.songminkyu.card.dto.CardAuthorizationDTO;
+import io.github.songminkyu.card.service.impl.CardHoldBatcher.PendingHold;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CardHoldBatcherTest {
+
+    private static final String CARD_NUMBER = "100646930341";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testQuietCardIsAppliedByItsOwnRequest() {
+        var batcher = new CardHoldBatcher(8, CardHoldBatcherTest::approve, meterRegistry);
+
+        var authorization = batcher.submit(CARD_NUMBER, new PendingHold(100, "key-1", "test"));
+
+        assertThat(authorization.idempotencyKey()).isEqualTo("key-1");
+        assertThat(meterRegistry.get("card.authorization.batch.size").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedBatchFailsEveryHoldInIt() {
+        var batcher = new CardHoldBatcher(8, (cardNumber, holds) -> {
+            throw new IllegalStateException("boom");
+        }, meterRegistry);
+
+        assertThatThrownBy(() -> batcher.submit(CARD_NUMBER, new PendingHold(100, "key-1", "test")))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("boom");
+    }
+
+    @Test
+    void testHoldsQueuedBehindTheOwnerAreBatched() throws Exception {
+        var entered = new CountDownLatch(1);
+        var gate = new CountDownLatch(1);
+        var batches = new ArrayList<Integer>();
+        var batcher = new CardHoldBatcher(8, (cardNumber, holds) -> {
+            entered.countDown();
+            await(gate);
+            synchronized (batches) {
+                batches.add(holds.size());
+            }
+            approve(cardNumber, holds);
+        }, meterRegistry);
+
+        var owner = executor.submit(() -> batcher.submit(CARD_NUMBER, new PendingHold(100, "owner", "test")));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        var waiters = new ArrayList<Future<CardAuthorizationDTO>>();
+        for (int i = 0; i < 5; i++) {
+            var key = "waiter-" + i;
+            waiters.add(executor.submit(() -> batcher.submit(CARD_NUMBER, new PendingHold(100, key, "test"))));
+        }
+        Thread.sleep(100);
+        gate.countDown();
+
+        assertThat(owner.get(5, TimeUnit.SECONDS).idempotencyKey()).isEqualTo("owner");
+        for (int i = 0; i < waiters.size(); i++) {
+            assertThat(waiters.get(i).get(5, TimeUnit.SECONDS).idempotencyKey()).isEqualTo("waiter-" + i);
+        }
+        assertThat(batches).containsExactly(1, 5);
+    }
+
+    @Test
+    void testOwnerReturnsWhileProducersKeepSubmitting() throws Exception {
+        var entered = new CountDownLatch(1);
+        var gate = new CountDownLatch(1);
+        var batcher = new CardHoldBatcher(4, (cardNumber, holds) -> {
+            entered.countDown();
+            await(gate);
+            sleep(1);
+            approve(cardNumber, holds);
+        }, meterRegistry);
+
+        var owner = executor.submit(() -> batcher.submit(CARD_NUMBER, new PendingHold(100, "owner", "test")));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        var running = new AtomicBoolean(true);
+        var applied = new AtomicInteger();
+        var producers = new ArrayList<Future<?>>();
+        for (int i = 0; i < 8; i++) {
+            var producer = i;
+            producers.add(executor.submit(() -> {
+                for (int n = 0; running.get(); n++) {
+                    batcher.submit(CARD_NUMBER, new PendingHold(100, "producer-" + producer + "-" + n, "test"));
+                    applied.incrementAndGet();
+                }
+            }));
+        }
+        Thread.sleep(50);
+        gate.countDown();
+
+        try {
+            // with producers still queueing holds, the owner must not be left draining them
+            assertThat(owner.get(5, TimeUnit.SECONDS).idempotencyKey()).isEqualTo("owner");
+            int appliedWhenOwnerReturned = applied.get();
+            Thread.sleep(100);
+            assertThat(applied.get()).isGreaterThan(appliedWhenOwnerReturned);
+        } finally {
+            running.set(false);
+        }
+        for (var producer : producers) {
+            producer.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void approve(String cardNumber, List<PendingHold> holds) {
+        holds.forEach(hold -> hold.result().complete(
+            new CardAuthorizationDTO(null, hold.idempotencyKey(), hold.amount(), 0, "PENDING", false)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
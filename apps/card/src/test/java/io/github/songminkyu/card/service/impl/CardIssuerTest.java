@@ -0,0 +1,137 @@
+package io.github.songminkyu.card.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.github.songminkyu.card.JpaTestConfiguration;
+import io.github.songminkyu.card.dto.CardIssueResultDTO;
+import io.github.songminkyu.card.dto.CardIssueResultDTO.Status;
+import io.github.songminkyu.card.exception.CardAlreadyExistsException;
+import io.github.songminkyu.card.mapper.CardMapper;
+import io.github.songminkyu.card.mapper.CardMapperImpl;
+import io.github.songminkyu.card.repository.CardRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig({JpaTestConfiguration.class, CardMapperImpl.class, CardIssuerTest.Config.class})
+class CardIssuerTest {
+
+    private static final AtomicLong MOBILE_NUMBERS = new AtomicLong(1_000_000_000L);
+
+    @Autowired
+    private CardIssuer cardIssuer;
+
+    @Autowired
+    @Qualifier("racingCardIssuer")
+    private CardIssuer racingCardIssuer;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Test
+    void testResultsFollowRequestOrder() {
+        var existing = mobileNumber();
+        cardIssuer.issue(List.of(existing), new HashSet<>());
+        var created = mobileNumber();
+
+        var results = cardIssuer.issue(Arrays.asList(created, "123", existing, created, null), new HashSet<>());
+
+        assertThat(results).extracting(CardIssueResultDTO::status)
+            .containsExactly(Status.CREATED, Status.INVALID, Status.ALREADY_EXISTS, Status.DUPLICATE, Status.INVALID);
+        assertThat(results.get(0).card().mobileNumber()).isEqualTo(created);
+        assertThat(results.get(0).card().availableAmount()).isEqualTo(results.get(0).card().totalLimit());
+        assertThat(results.subList(1, results.size())).allMatch(result -> result.card() == null);
+        assertThat(cardRepository.findByMobileNumber(created)).isPresent();
+    }
+
+    @Test
+    void testDuplicatesAcrossChunksAreReported() {
+        Set<String> seen = new HashSet<>();
+        var mobileNumber = mobileNumber();
+
+        var first = cardIssuer.issue(List.of(mobileNumber), seen);
+        var second = cardIssuer.issue(List.of(mobileNumber), seen);
+
+        assertThat(first.get(0).status()).isEqualTo(Status.CREATED);
+        assertThat(second.get(0).status()).isEqualTo(Status.DUPLICATE);
+    }
+
+    @Test
+    void testIssuedCardsHaveDistinctCardNumbers() {
+        List<String> mobileNumbers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            mobileNumbers.add(mobileNumber());
+        }
+
+        var results = cardIssuer.issue(mobileNumbers, new HashSet<>());
+
+        assertThat(results).allMatch(result -> result.status() == Status.CREATED);
+        assertThat(results).extracting(result -> result.card().cardNumber()).doesNotHaveDuplicates();
+        assertThat(cardRepository.findMobileNumbersIn(mobileNumbers)).hasSize(500);
+    }
+
+    @Test
+    void testNumberIssuedByConcurrentRequestIsRejected() {
+        var contested = mobileNumber();
+        var other = mobileNumber();
+        cardIssuer.issue(List.of(contested), new HashSet<>());
+
+        // the racing issuer's existence check ran before the other request committed
+        assertThatThrownBy(() -> racingCardIssuer.issue(List.of(other, contested), new HashSet<>()))
+            .isInstanceOf(CardAlreadyExistsException.class)
+            .hasMessageContaining(contested);
+        assertThat(cardRepository.findByMobileNumber(other)).isEmpty();
+    }
+
+    @Test
+    void testCardNumberIsUnique() {
+        var issued = cardIssuer.issue(List.of(mobileNumber()), new HashSet<>()).get(0).card();
+        var copy = cardRepository.findByCardNumber(issued.cardNumber()).orElseThrow();
+        copy.setCardId(null);
+        copy.setMobileNumber(mobileNumber());
+
+        assertThatThrownBy(() -> cardRepository.saveAndFlush(copy))
+            .isInstanceOf(DataIntegrityViolationException.class)
+            .matches(ex -> !CardIssuer.violates((DataIntegrityViolationException) ex,
+                CardIssuer.MOBILE_NUMBER_CONSTRAINT));
+    }
+
+    private static String mobileNumber() {
+        return Long.toString(MOBILE_NUMBERS.incrementAndGet());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class Config {
+
+        @Bean
+        @Primary
+        CardIssuer cardIssuer(CardRepository cardRepository, CardMapper cardMapper) {
+            return new CardIssuer(cardRepository, cardMapper);
+        }
+
+        @Bean
+        CardIssuer racingCardIssuer(CardRepository cardRepository, CardMapper cardMapper) {
+            var racingRepository = mock(CardRepository.class,
+                withSettings().defaultAnswer(AdditionalAnswers.delegatesTo(cardRepository)));
+            doReturn(Set.of()).when(racingRepository).findMobileNumbersIn(any());
+            return new CardIssuer(racingRepository, cardMapper);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.songminkyu.card.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.github.songminkyu.card.JpaTestConfiguration;
+import io.github.songminkyu.card.consumer.CardPublisher;
+import io.github.songminkyu.card.dto.CardDTO;
+import io.github.songminkyu.card.filter.CardFilter;
+import io.github.songminkyu.card.mapper.CardMapper;
+import io.github.songminkyu.card.mapper.CardMapperImpl;
+import io.github.songminkyu.card.repository.CardRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig({JpaTestConfiguration.class, CardMapperImpl.class})
+class CardServiceImplTest {
+
+    private static final int CARDS = 200_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private CardServiceImpl cardService;
+
+    @BeforeEach
+    void setUp() {
+        cardService = new CardServiceImpl(
+            cardRepository, mock(CardPublisher.class), cardMapper, mock(CardIssuer.class));
+        var jdbcClient = JdbcClient.create(dataSource);
+        if (jdbcClient.sql("SELECT COUNT(*) FROM card").query(Long.class).single() == 0) {
+            // every tenth card is a debit card, limits cycle through 1000..100000
+            jdbcClient.sql("""
+                    INSERT INTO card (card_id, created_at, created_by, mobile_number, card_number, card_type,
+                        total_limit, amount_used, available_amount)
+                    SELECT x, CURRENT_TIMESTAMP, 'system', 1000000000 + x, 100000000000 + x,
+                        CASE WHEN MOD(x, 10) = 0 THEN 'Debit Card' ELSE 'Credit Card' END,
+                        1000 * (1 + MOD(x, 100)), 0, 1000 * (1 + MOD(x, 100))
+                    FROM SYSTEM_RANGE(1, ?)
+                    """)
+                .param(CARDS)
+                .update();
+        }
+    }
+
+    @Test
+    void testPagesFollowOnWithoutGapsOrRepeats() {
+        var filter = new CardFilter();
+        var first = cardService.getAllCards(ScrollSubrange.create(null, PAGE_SIZE, true), filter);
+        var second = cardService.getAllCards(
+            ScrollSubrange.create(first.positionAt(first.size() - 1), PAGE_SIZE, true), filter);
+
+        assertThat(first.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(1, PAGE_SIZE));
+        assertThat(second.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(PAGE_SIZE + 1, 2 * PAGE_SIZE));
+        assertThat(second.hasNext()).isTrue();
+    }
+
+    @Test
+    void testLastPageWithoutCursorScrollsBackFromTheEnd() {
+        var last = cardService.getAllCards(ScrollSubrange.create(null, PAGE_SIZE, false), new CardFilter());
+
+        assertThat(last.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(CARDS - PAGE_SIZE + 1, CARDS));
+    }
+
+    @Test
+    void testFilterAppliesCardTypeAndMinTotalLimit() {
+        var filter = CardFilter.builder().cardType("Debit Card").minTotalLimit(90_000).build();
+        var page = cardService.getAllCards(ScrollSubrange.create(null, PAGE_SIZE, true), filter);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE)
+            .allMatch(card -> "Debit Card".equals(card.cardType()) && card.totalLimit() >= 90_000);
+    }
+
+    @Test
+    void testDeepPageIsStableAndFollowsOn() {
+        var filter = new CardFilter();
+        var deep = ScrollSubrange.create(ScrollPosition.forward(Map.of("cardId", (long) CARDS - 100)), PAGE_SIZE, true);
+
+        var page = cardService.getAllCards(deep, filter);
+        var again = cardService.getAllCards(deep, filter);
+        var next = cardService.getAllCards(
+            ScrollSubrange.create(page.positionAt(page.size() - 1), PAGE_SIZE, true), filter);
+
+        assertThat(page.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(CARDS - 99, CARDS - 100 + PAGE_SIZE));
+        assertThat(again.getContent()).isEqualTo(page.getContent());
+        assertThat(next.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(CARDS - 100 + PAGE_SIZE + 1, CARDS - 100 + 2 * PAGE_SIZE));
+    }
+
+    @Test
+    void testScrollingBackReturnsThePrecedingPage() {
+        var filter = new CardFilter();
+        var deep = ScrollSubrange.create(ScrollPosition.forward(Map.of("cardId", (long) CARDS - 100)), PAGE_SIZE, true);
+        var page = cardService.getAllCards(deep, filter);
+
+        var previous = cardService.getAllCards(ScrollSubrange.create(page.positionAt(0), PAGE_SIZE, false), filter);
+
+        assertThat(previous.getContent()).extracting(CardDTO::mobileNumber)
+            .containsExactly(mobileNumbers(CARDS - 100 - PAGE_SIZE + 1, CARDS - 100));
+    }
+
+    private static String[] mobileNumbers(int from, int to) {
+        List<String> mobileNumbers = new ArrayList<>();
+        for (long x = from; x <= to; x++) {
+            mobileNumbers.add(Long.toString(1_000_000_000L + x));
+        }
+        return mobileNumbers.toArray(String[]::new);
+    }
+}
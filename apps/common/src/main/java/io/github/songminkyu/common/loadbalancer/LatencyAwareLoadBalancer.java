@@ -0,0 +1,259 @@
+package io.github.songminkyu.common.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks service instances by power of two choices over a peak EWMA of their latency,
+ * weighted by the requests still outstanding on them.
+ *
+ * <p>Two distinct instances are drawn at random and the one with the lower
+ * {@code latency * (inFlight + 1)} wins, so a slow or saturated instance sheds traffic
+ * without ever being starved of the probes that show it has recovered. The average jumps
+ * to any sample above it, otherwise decays over {@code decay-time}, and also decays while
+ * the instance sits idle. Instances failing {@code error-threshold} calls in a row
+ * (exceptions or 5xx responses) are ejected for {@code ejection-time}, but never more than
+ * {@code max-ejection-percent} of the known instances at once.</p>
+ *
+ * <p>Samples are fed through the {@link LoadBalancerLifecycle} callbacks that the
+ * load-balanced {@code WebClient}, {@code RestClient} and Feign clients, and the gateway's
+ * {@code ReactiveLoadBalancerClientFilter} for {@code lb://} routes, invoke around each
+ * call.</p>
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer
+    implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final String EJECTIONS_METRIC_NAME = "loadbalancer.ejections";
+    private static final double UNMEASURED_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final LoadBalancingProperties loadBalancingProperties;
+    private final LongSupplier clock;
+    private final Counter ejections;
+    private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+    private volatile int instanceCount;
+
+    public LatencyAwareLoadBalancer(
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+        String serviceId,
+        LoadBalancingProperties loadBalancingProperties,
+        MeterRegistry meterRegistry) {
+        this(serviceInstanceListSupplierProvider, serviceId, loadBalancingProperties, meterRegistry, System::nanoTime);
+    }
+
+    LatencyAwareLoadBalancer(
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+        String serviceId,
+        LoadBalancingProperties loadBalancingProperties,
+        MeterRegistry meterRegistry,
+        LongSupplier clock) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.loadBalancingProperties = loadBalancingProperties;
+        this.clock = clock;
+        this.ejections = Counter.builder(EJECTIONS_METRIC_NAME)
+            .tag("service", serviceId)
+            .description("Number of instances ejected after consecutive errors")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        var supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(serviceInstances -> {
+            var response = choose(serviceInstances);
+            if (response.hasServer() && supplier instanceof SelectedInstanceCallback callback) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> serviceInstances) {
+        if (serviceInstances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        instanceCount = serviceInstances.size();
+        if (instances.size() > 2 * serviceInstances.size()) {
+            forgetDeparted(serviceInstances);
+        }
+        long now = clock.getAsLong();
+        var candidates = admitted(serviceInstances, now);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        var random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        var a = candidates.get(first);
+        var b = candidates.get(second);
+        return new DefaultResponse(cost(a, now) <= cost(b, now) ? a : b);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // the instance is not known yet
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        if (request != null && request.getContext() instanceof TimedRequestContext context
+            && context.getRequestStartTime() == 0) {
+            context.setRequestStartTime(clock.getAsLong());
+        }
+        stats(lbResponse.getServer()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        var lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+            || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        var instance = lbResponse.getServer();
+        var stats = stats(instance);
+        stats.inFlight.updateAndGet(count -> Math.max(0, count - 1));
+        long now = clock.getAsLong();
+        var request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext context
+            && context.getRequestStartTime() != 0) {
+            stats.observe(now - context.getRequestStartTime(), now, decayNanos());
+        }
+        if (!failed(completionContext)) {
+            stats.consecutiveErrors.set(0);
+        } else if (stats.consecutiveErrors.incrementAndGet() >= loadBalancingProperties.getErrorThreshold()) {
+            eject(instance, stats, now);
+        }
+    }
+
+    private List<ServiceInstance> admitted(List<ServiceInstance> serviceInstances, long now) {
+        List<ServiceInstance> admitted = new ArrayList<>(serviceInstances.size());
+        for (var instance : serviceInstances) {
+            var stats = instances.get(key(instance));
+            if (stats == null || !stats.isEjected(now)) {
+                admitted.add(instance);
+            }
+        }
+        return admitted.isEmpty() ? serviceInstances : admitted;
+    }
+
+    private double cost(ServiceInstance instance, long now) {
+        var stats = instances.get(key(instance));
+        return stats != null ? stats.cost(now, decayNanos()) : 0;
+    }
+
+    private void eject(ServiceInstance instance, InstanceStats stats, long now) {
+        stats.consecutiveErrors.set(0);
+        long ejected = instances.values().stream().filter(other -> other.isEjected(now)).count();
+        int known = Math.max(instanceCount, instances.size());
+        if ((ejected + 1) * 100.0 > known * loadBalancingProperties.getMaxEjectionPercent()) {
+            log.debug("Not ejecting {} instance {}: {} of {} already ejected", serviceId, key(instance), ejected, known);
+            return;
+        }
+        long ejectionTime = loadBalancingProperties.getEjectionTime();
+        stats.ejectedUntil = now + TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+        ejections.increment();
+        log.warn("Ejected {} instance {} for {} ms after {} consecutive errors",
+            serviceId, key(instance), ejectionTime, loadBalancingProperties.getErrorThreshold());
+    }
+
+    private void forgetDeparted(List<ServiceInstance> serviceInstances) {
+        Set<String> current = serviceInstances.stream()
+            .map(LatencyAwareLoadBalancer::key)
+            .collect(Collectors.toSet());
+        instances.keySet().retainAll(current);
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), key -> new InstanceStats(clock.getAsLong()));
+    }
+
+    private double decayNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(loadBalancingProperties.getDecayTime());
+    }
+
+    private static boolean failed(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+            && response.getHttpStatus() != null
+            && response.getHttpStatus().is5xxServerError();
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+
+    private static final class InstanceStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveErrors = new AtomicInteger();
+        private volatile double latency;
+        private volatile long stamp;
+        private volatile long ejectedUntil;
+
+        private InstanceStats(long now) {
+            this.stamp = now;
+            this.ejectedUntil = now;
+        }
+
+        private boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+
+        private synchronized void observe(long rtt, long now, double decayNanos) {
+            double weight = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            latency = rtt > latency ? rtt : latency * weight + rtt * (1 - weight);
+            stamp = now;
+        }
+
+        private double cost(long now, double decayNanos) {
+            int outstanding = inFlight.get();
+            double observed = latency;
+            if (observed == 0) {
+                return outstanding == 0 ? 0 : UNMEASURED_PENALTY * (outstanding + 1);
+            }
+            // an idle instance drifts back into rotation so that it gets probed again
+            double idle = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            return observed * idle * (outstanding + 1);
+        }
+    }
+}
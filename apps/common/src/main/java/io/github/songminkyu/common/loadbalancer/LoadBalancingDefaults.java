@@ -0,0 +1,13 @@
+package io.github.songminkyu.common.loadbalancer;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LoadBalancingDefaults {
+    public static final boolean ENABLED = true;
+    public static final long DECAY_TIME = 10000;
+    public static final int ERROR_THRESHOLD = 5;
+    public static final long EJECTION_TIME = 30000;
+    public static final double MAX_EJECTION_PERCENT = 50;
+}
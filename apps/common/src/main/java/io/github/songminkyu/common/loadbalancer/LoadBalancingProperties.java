@@ -0,0 +1,17 @@
+package io.github.songminkyu.common.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.load-balancing")
+@Getter
+@Setter
+public class LoadBalancingProperties {
+
+    private boolean enabled = LoadBalancingDefaults.ENABLED;
+    private long decayTime = LoadBalancingDefaults.DECAY_TIME;
+    private int errorThreshold = LoadBalancingDefaults.ERROR_THRESHOLD;
+    private long ejectionTime = LoadBalancingDefaults.EJECTION_TIME;
+    private double maxEjectionPercent = LoadBalancingDefaults.MAX_EJECTION_PERCENT;
+}
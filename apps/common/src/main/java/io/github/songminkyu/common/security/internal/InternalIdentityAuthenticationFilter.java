@@ -0,0 +1,83 @@
+package io.github.songminkyu.common.security.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates requests carrying a valid gateway-minted identity assertion with a single
+ * HMAC check. Requests without one, or with an invalid one, fall through to JWT validation.
+ */
+@Slf4j
+public class InternalIdentityAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String AUTHENTICATED_ATTRIBUTE = InternalIdentityAuthenticationFilter.class.getName() + ".AUTHENTICATED";
+    private static final String VERIFICATIONS_METRIC_NAME = "security.internal-identity";
+
+    private final String header;
+    private final InternalIdentityCodec codec;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public InternalIdentityAuthenticationFilter(
+        InternalIdentityProperties internalIdentityProperties,
+        MeterRegistry meterRegistry) {
+        this.header = internalIdentityProperties.getHeader();
+        this.codec = new InternalIdentityCodec(internalIdentityProperties.getSecret());
+        this.accepted = counter(meterRegistry, "accepted", "Requests authenticated by the internal identity assertion");
+        this.rejected = counter(meterRegistry, "rejected", "Internal identity assertions that failed verification");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder(VERIFICATIONS_METRIC_NAME)
+            .tag("result", result)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Resolves the bearer token only for requests this filter has not already authenticated,
+     * so the JWT is not verified a second time.
+     */
+    public static BearerTokenResolver bearerTokenResolver() {
+        var delegate = new DefaultBearerTokenResolver();
+        return request -> request.getAttribute(AUTHENTICATED_ATTRIBUTE) != null ? null : delegate.resolve(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        String assertion = request.getHeader(header);
+        if (assertion != null) {
+            var identity = codec.decode(assertion, Instant.now());
+            if (identity != null) {
+                var authorities = identity.authorities().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+                var context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new PreAuthenticatedAuthenticationToken(identity.subject(), null, authorities));
+                SecurityContextHolder.setContext(context);
+                request.setAttribute(AUTHENTICATED_ATTRIBUTE, Boolean.TRUE);
+                accepted.increment();
+            } else {
+                rejected.increment();
+                log.debug("Ignoring invalid {} header, falling back to JWT authentication", header);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
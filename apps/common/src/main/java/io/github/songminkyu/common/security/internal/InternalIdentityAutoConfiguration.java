@@ -0,0 +1,40 @@
+package io.github.songminkyu.common.security.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+
+/**
+ * Provides the {@link InternalIdentityAuthenticationFilter} to servlet services that set
+ * {@code spring.internal-identity.enabled}. Each service's {@code SecurityConfig} adds it to the
+ * Spring Security chain ahead of JWT validation, so its registration with the servlet container
+ * is disabled.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(BearerTokenResolver.class)
+@ConditionalOnProperty(value = "spring.internal-identity.enabled", havingValue = "true")
+@EnableConfigurationProperties(InternalIdentityProperties.class)
+public class InternalIdentityAutoConfiguration {
+
+    @Bean
+    public InternalIdentityAuthenticationFilter internalIdentityAuthenticationFilter(
+        InternalIdentityProperties internalIdentityProperties,
+        MeterRegistry meterRegistry) {
+        return new InternalIdentityAuthenticationFilter(internalIdentityProperties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<InternalIdentityAuthenticationFilter> internalIdentityFilterRegistration(
+        InternalIdentityAuthenticationFilter internalIdentityAuthenticationFilter) {
+        var registration = new FilterRegistrationBean<>(internalIdentityAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.songminkyu.common.security.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.util.StringUtils;
+
+/**
+ * Encodes and verifies the internal identity assertion minted by the gateway:
+ * {@code base64url(subject).expiresAt.base64url(authorities).base64url(HMAC-SHA256)}.
+ */
+public final class InternalIdentityCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public InternalIdentityCodec(String secret) {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("An internal identity secret is required");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String encode(String subject, Collection<String> authorities, Instant expiresAt) {
+        String payload = encode(subject) + '.' + expiresAt.getEpochSecond() + '.' + encode(String.join(",", authorities));
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the identity carried by the assertion, or {@code null} when it is malformed,
+     * forged or expired.
+     */
+    public Identity decode(String value, Instant now) {
+        int signatureStart = value.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return null;
+        }
+        String payload = value.substring(0, signatureStart);
+        try {
+            byte[] signature = DECODER.decode(value.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            String[] parts = payload.split("\\.", -1);
+            if (parts.length != 3) {
+                return null;
+            }
+            var expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+            if (!expiresAt.isAfter(now)) {
+                return null;
+            }
+            String authorities = decode(parts[2]);
+            return new Identity(
+                decode(parts[0]),
+                authorities.isEmpty() ? List.of() : List.of(authorities.split(",")),
+                expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+
+    public record Identity(String subject, List<String> authorities, Instant expiresAt) {
+    }
+}
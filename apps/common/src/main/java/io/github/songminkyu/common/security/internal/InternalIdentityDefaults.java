@@ -0,0 +1,10 @@
+package io.github.songminkyu.common.security.internal;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InternalIdentityDefaults {
+    public static final boolean ENABLED = false;
+    public static final String HEADER = "X-Internal-Identity";
+}
@@ -0,0 +1,168 @@
+package io.github.songminkyu.common.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final ServiceInstance FAST_1 = instance("loan-1");
+    private static final ServiceInstance FAST_2 = instance("loan-2");
+    private static final ServiceInstance SLOW = instance("loan-3");
+    private static final List<ServiceInstance> INSTANCES = List.of(FAST_1, FAST_2, SLOW);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private LatencyAwareLoadBalancer loadBalancer() {
+        var loadBalancer = new LatencyAwareLoadBalancer(
+            ServiceInstanceListSuppliers.toProvider("loan", INSTANCES.toArray(ServiceInstance[]::new)),
+            "loan",
+            new LoadBalancingProperties(),
+            meterRegistry,
+            clock::get);
+        // the instance list is known once a first call has been balanced
+        loadBalancer.choose(INSTANCES);
+        return loadBalancer;
+    }
+
+    @Test
+    void testSlowInstanceShedsTraffic() {
+        var loadBalancer = loadBalancer();
+        // 5 ms per call on the healthy pods, 100 ms on the slow one, 5 calls started every millisecond
+        Map<ServiceInstance, Long> latencies = Map.of(FAST_1, 5L, FAST_2, 5L, SLOW, 100L);
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        var pending = new PriorityQueue<PendingCall>();
+
+        for (int millis = 0; millis < 5000; millis++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            while (!pending.isEmpty() && pending.peek().completesAt() <= clock.get()) {
+                var call = pending.poll();
+                loadBalancer.onComplete(completion(CompletionContext.Status.SUCCESS, call.request(), call.response()));
+            }
+            for (int i = 0; i < 5; i++) {
+                var response = loadBalancer.choose(INSTANCES);
+                var request = request();
+                loadBalancer.onStartRequest(request, response);
+                var instance = response.getServer();
+                picks.merge(instance, 1, Integer::sum);
+                long completesAt = clock.get() + TimeUnit.MILLISECONDS.toNanos(latencies.get(instance));
+                pending.add(new PendingCall(completesAt, request, response));
+            }
+        }
+
+        double slowShare = picks.get(SLOW) / 25000.0;
+        assertTrue(slowShare > 0, "the slow instance must keep being probed");
+        assertTrue(slowShare < 0.05, "round-robin would send a third, got " + slowShare);
+    }
+
+    @Test
+    void testInstanceEjectedAfterConsecutiveErrors() {
+        var loadBalancer = loadBalancer();
+        failRepeatedly(loadBalancer, SLOW, 5);
+
+        for (int i = 0; i < 1000; i++) {
+            assertNotEquals(SLOW, loadBalancer.choose(INSTANCES).getServer());
+        }
+        assertEquals(1.0, meterRegistry.get("loadbalancer.ejections").tag("service", "loan").counter().count());
+
+        // keep the healthy instances busy so that the readmitted one wins its comparisons
+        loadBalancer.onStartRequest(request(), new DefaultResponse(FAST_1));
+        loadBalancer.onStartRequest(request(), new DefaultResponse(FAST_2));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        boolean readmitted = false;
+        for (int i = 0; i < 1000 && !readmitted; i++) {
+            readmitted = SLOW.equals(loadBalancer.choose(INSTANCES).getServer());
+        }
+        assertTrue(readmitted);
+    }
+
+    @Test
+    void testSuccessResetsErrorCount() {
+        var loadBalancer = loadBalancer();
+        failRepeatedly(loadBalancer, SLOW, 4);
+        call(loadBalancer, SLOW, CompletionContext.Status.SUCCESS);
+        failRepeatedly(loadBalancer, SLOW, 4);
+
+        assertEquals(0.0, meterRegistry.get("loadbalancer.ejections").counter().count());
+    }
+
+    @Test
+    void testEjectionCappedAtMaxPercent() {
+        var loadBalancer = loadBalancer();
+        for (var instance : INSTANCES) {
+            failRepeatedly(loadBalancer, instance, 5);
+        }
+
+        // 50% of three instances allows a single ejection
+        assertEquals(1.0, meterRegistry.get("loadbalancer.ejections").counter().count());
+    }
+
+    @Test
+    void testChooseFromSupplier() {
+        var response = loadBalancer().choose(request()).block();
+
+        assertTrue(response.hasServer());
+        assertTrue(INSTANCES.contains(response.getServer()));
+    }
+
+    @Test
+    void testNoInstances() {
+        assertFalse(loadBalancer().choose(List.of()).hasServer());
+    }
+
+    private void failRepeatedly(LatencyAwareLoadBalancer loadBalancer, ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            call(loadBalancer, instance, CompletionContext.Status.FAILED);
+        }
+    }
+
+    private void call(LatencyAwareLoadBalancer loadBalancer, ServiceInstance instance, CompletionContext.Status status) {
+        var request = request();
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, response);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        loadBalancer.onComplete(completion(status, request, response));
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private static CompletionContext<Object, ServiceInstance, Object> completion(
+        CompletionContext.Status status, Request<Object> request, Response<ServiceInstance> response) {
+        return new CompletionContext<>(status, request, response);
+    }
+
+    private static ServiceInstance instance(String instanceId) {
+        return new DefaultServiceInstance(instanceId, "loan", instanceId, 8090, false);
+    }
+
+    private record PendingCall(long completesAt, Request<Object> request, Response<ServiceInstance> response)
+        implements Comparable<PendingCall> {
+
+        @Override
+        public int compareTo(PendingCall other) {
+            return Long.compare(completesAt, other.completesAt);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.songminkyu.common.security.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class InternalIdentityAuthenticationFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InternalIdentityAuthenticationFilter filter =
+        new InternalIdentityAuthenticationFilter(properties(), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidAssertionAuthenticatesAndSkipsTheBearerToken() throws Exception {
+        var request = request(new InternalIdentityCodec("secret")
+            .encode("john.doe", List.of("ROLE_ACCOUNT"), Instant.now().plusSeconds(30)));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("john.doe", authentication.getName());
+        assertEquals(List.of("ROLE_ACCOUNT"),
+            authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertNull(InternalIdentityAuthenticationFilter.bearerTokenResolver().resolve(request));
+        assertEquals(1, count("accepted"));
+    }
+
+    @Test
+    void testInvalidAssertionFallsThroughToTheBearerToken() throws Exception {
+        var request = request(new InternalIdentityCodec("other")
+            .encode("john.doe", List.of("ROLE_ACCOUNT"), Instant.now().plusSeconds(30)));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("jwt", InternalIdentityAuthenticationFilter.bearerTokenResolver().resolve(request));
+        assertEquals(1, count("rejected"));
+    }
+
+    @Test
+    void testFilterIsOnlyProvidedWhenEnabled() {
+        var contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(InternalIdentityAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+        contextRunner.run(context -> assertFalse(context.containsBean("internalIdentityAuthenticationFilter")));
+        contextRunner
+            .withPropertyValues("spring.internal-identity.enabled=true", "spring.internal-identity.secret=secret")
+            .run(context -> {
+                assertTrue(context.containsBean("internalIdentityAuthenticationFilter"));
+                // added to the security filter chain by each service, never to the servlet container
+                assertFalse(context.getBean(FilterRegistrationBean.class).isEnabled());
+            });
+    }
+
+    private static InternalIdentityProperties properties() {
+        var properties = new InternalIdentityProperties();
+        properties.setSecret("secret");
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String assertion) {
+        var request = new MockHttpServletRequest("GET", "/api/fetch");
+        request.addHeader(InternalIdentityDefaults.HEADER, assertion);
+        request.addHeader("Authorization", "Bearer jwt");
+        return request;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("security.internal-identity").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.songminkyu.common.security.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InternalIdentityCodecTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final InternalIdentityCodec codec = new InternalIdentityCodec("secret");
+
+    @Test
+    void testValidAssertionIsDecoded() {
+        var assertion = codec.encode("john.doe", List.of("ROLE_ACCOUNT", "ROLE_CARD"), NOW.plusSeconds(30));
+
+        var identity = codec.decode(assertion, NOW);
+
+        assertEquals("john.doe", identity.subject());
+        assertEquals(List.of("ROLE_ACCOUNT", "ROLE_CARD"), identity.authorities());
+    }
+
+    @Test
+    void testExpiredAssertionIsRejected() {
+        var assertion = codec.encode("john.doe", List.of(), NOW.minusSeconds(1));
+
+        assertNull(codec.decode(assertion, NOW));
+    }
+
+    @Test
+    void testAssertionSignedWithAnotherSecretIsRejected() {
+        var assertion = new InternalIdentityCodec("other").encode("john.doe", List.of("ROLE_ACCOUNT"), NOW.plusSeconds(30));
+
+        assertNull(codec.decode(assertion, NOW));
+        assertNull(codec.decode("not-an-assertion", NOW));
+    }
+
+    @Test
+    void testTamperedAuthoritiesAreRejected() {
+        var assertion = codec.encode("john.doe", List.of("ROLE_CARD"), NOW.plusSeconds(30));
+        var parts = assertion.split("\\.");
+        var forged = codec.encode("john.doe", List.of("ROLE_ADMIN"), NOW.plusSeconds(30)).split("\\.");
+
+        assertNull(codec.decode(String.join(".", parts[0], parts[1], forged[2], parts[3]), NOW));
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.songminkyu.gatewayserver.cache;
+
+import io.github.songminkyu.gatewayserver.config.EdgeCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Bounded LRU store of GET responses cached at the gateway, with per-route hit and
+ * bytes-saved accounting.
+ */
+public class EdgeResponseCache {
+
+    private static final String REQUESTS_METRIC_NAME = "gateway.edge-cache.requests";
+    private static final String BYTES_SAVED_METRIC_NAME = "gateway.edge-cache.bytes-saved";
+    private static final String SIZE_METRIC_NAME = "gateway.edge-cache.size";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CachedResponse> entries;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public EdgeResponseCache(EdgeCacheProperties edgeCacheProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > edgeCacheProperties.getMaxEntries();
+            }
+        });
+        Gauge.builder(SIZE_METRIC_NAME, entries, Map::size)
+            .description("Number of responses held by the gateway edge cache")
+            .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Claims the revalidation of an expired entry; only the first caller per key wins.
+     */
+    public boolean startRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    public void record(String routeId, Result result, long bytesSaved) {
+        var meters = routes.computeIfAbsent(routeId, RouteMeters::new);
+        meters.requests.get(result).increment();
+        if (bytesSaved > 0) {
+            meters.bytesSaved.increment(bytesSaved);
+        }
+    }
+
+    public enum Result {
+        /** Served from the cache without contacting the backend. */
+        HIT,
+        /** Served from the cache as 304 Not Modified. */
+        NOT_MODIFIED,
+        /** Expired entry served while another request revalidates it. */
+        STALE,
+        /** Expired entry confirmed unchanged by the backend. */
+        REVALIDATED,
+        /** Forwarded to the backend. */
+        MISS
+    }
+
+    private final class RouteMeters {
+
+        private final Map<Result, Counter> requests = new EnumMap<>(Result.class);
+        private final Counter bytesSaved;
+
+        private RouteMeters(String routeId) {
+            for (var result : Result.values()) {
+                requests.put(result, Counter.builder(REQUESTS_METRIC_NAME)
+                    .tag("route", routeId)
+                    .tag("result", result.name().toLowerCase())
+                    .description("Gateway edge cache lookups")
+                    .register(meterRegistry));
+            }
+            this.bytesSaved = Counter.builder(BYTES_SAVED_METRIC_NAME)
+                .tag("route", routeId)
+                .baseUnit("bytes")
+                .description("Response body bytes not fetched from the backend or not sent to the client")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A stored response. {@code generatedEtag} marks an ETag the gateway derived from the body,
+     * which the backend knows nothing about and so must never see as a validator.
+     */
+    public record CachedResponse(
+        HttpHeaders headers, byte[] body, String etag, boolean generatedEtag, long storedAt, long expiresAt) {
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        public CachedResponse refreshed(long now, long timeToLive) {
+            return new CachedResponse(headers, body, etag, generatedEtag, now, now + timeToLive);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+}
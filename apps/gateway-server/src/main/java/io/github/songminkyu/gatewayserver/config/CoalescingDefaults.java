@@ -0,0 +1,16 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CoalescingDefaults {
+    public static final boolean ENABLED = false;
+    public static final int MAX_BODY_SIZE = 256 * 1024;
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Metrics {
+        public static final boolean ENABLED = true;
+        public static final boolean PER_ROUTE = true;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.request-coalescing")
+@Getter
+@Setter
+public class CoalescingProperties {
+
+    private boolean enabled = CoalescingDefaults.ENABLED;
+    private int maxBodySize = CoalescingDefaults.MAX_BODY_SIZE;
+    private Metrics metrics = new Metrics();
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        private boolean enabled = CoalescingDefaults.Metrics.ENABLED;
+        private boolean perRoute = CoalescingDefaults.Metrics.PER_ROUTE;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConcurrencyLimitDefaults {
+    public static final int INITIAL_LIMIT = 20;
+    public static final int MIN_LIMIT = 2;
+    public static final int MAX_LIMIT = 200;
+    public static final double SMOOTHING = 0.2;
+    public static final double TOLERANCE = 1.5;
+    public static final double BACKOFF_RATIO = 0.9;
+    public static final int LONG_WINDOW = 600;
+}
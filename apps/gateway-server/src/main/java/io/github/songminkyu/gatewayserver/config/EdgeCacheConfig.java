@@ -0,0 +1,19 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.cache.EdgeResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(EdgeCacheProperties.class)
+public class EdgeCacheConfig {
+
+    @Bean
+    public EdgeResponseCache edgeResponseCache(
+        EdgeCacheProperties edgeCacheProperties,
+        MeterRegistry meterRegistry) {
+        return new EdgeResponseCache(edgeCacheProperties, meterRegistry);
+    }
+}
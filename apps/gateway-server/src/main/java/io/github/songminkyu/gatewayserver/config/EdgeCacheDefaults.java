@@ -0,0 +1,12 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EdgeCacheDefaults {
+    public static final boolean ENABLED = true;
+    public static final int MAX_ENTRIES = 1000;
+    public static final int MAX_BODY_SIZE = 256 * 1024;
+    public static final long TIME_TO_LIVE = 60000;
+}
@@ -0,0 +1,16 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.edge-cache")
+@Getter
+@Setter
+public class EdgeCacheProperties {
+
+    private boolean enabled = EdgeCacheDefaults.ENABLED;
+    private int maxEntries = EdgeCacheDefaults.MAX_ENTRIES;
+    private int maxBodySize = EdgeCacheDefaults.MAX_BODY_SIZE;
+    private long timeToLive = EdgeCacheDefaults.TIME_TO_LIVE;
+}
@@ -0,0 +1,48 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.filter.FilterTimingWebFilter;
+import io.github.songminkyu.gatewayserver.filter.FilterTimingWebHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(FilterTimingProperties.class)
+@ConditionalOnProperty(value = "spring.filter-timing.enabled", havingValue = "true")
+public class FilterTimingConfig {
+
+    @Bean
+    public FilterTimingWebFilter filterTimingWebFilter() {
+        return new FilterTimingWebFilter();
+    }
+
+    /**
+     * Swaps the gateway's {@link FilteringWebHandler} for the timing one; the auto-configured
+     * bean cannot be overridden and is the only place that sees both global and route filters.
+     */
+    @Bean
+    public static BeanPostProcessor filterTimingWebHandlerPostProcessor(
+        ObjectProvider<List<GlobalFilter>> globalFilters,
+        ObjectProvider<FilterTimingProperties> filterTimingProperties,
+        ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof FilteringWebHandler && !(bean instanceof FilterTimingWebHandler)) {
+                    return new FilterTimingWebHandler(
+                        globalFilters.getObject(),
+                        filterTimingProperties.getObject(),
+                        meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
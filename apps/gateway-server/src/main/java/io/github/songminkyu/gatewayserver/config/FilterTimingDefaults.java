@@ -0,0 +1,14 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FilterTimingDefaults {
+    public static final boolean ENABLED = false;
+    public static final boolean SERVER_TIMING = false;
+    public static final long SERVER_TIMING_THRESHOLD = 10;
+    public static final Set<String> SERVER_TIMING_AUTHORITIES = Set.of("ROLE_ADMIN");
+    public static final boolean HISTOGRAM = false;
+}
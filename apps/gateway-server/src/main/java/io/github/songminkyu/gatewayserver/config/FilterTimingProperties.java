@@ -0,0 +1,21 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.filter-timing")
+@Getter
+@Setter
+public class FilterTimingProperties {
+
+    private boolean enabled = FilterTimingDefaults.ENABLED;
+    private boolean serverTiming = FilterTimingDefaults.SERVER_TIMING;
+    /** Filters faster than this many microseconds are left out of the Server-Timing header. */
+    private long serverTimingThreshold = FilterTimingDefaults.SERVER_TIMING_THRESHOLD;
+    /** Only callers holding one of these authorities get the Server-Timing header. */
+    private Set<String> serverTimingAuthorities = new HashSet<>(FilterTimingDefaults.SERVER_TIMING_AUTHORITIES);
+    private boolean histogram = FilterTimingDefaults.HISTOGRAM;
+}
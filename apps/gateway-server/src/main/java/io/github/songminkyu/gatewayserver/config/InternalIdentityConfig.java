@@ -0,0 +1,20 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.common.security.internal.InternalIdentityCodec;
+import io.github.songminkyu.gatewayserver.filter.InternalIdentityFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(InternalIdentityProperties.class)
+public class InternalIdentityConfig {
+
+    @Bean
+    public InternalIdentityFilter internalIdentityFilter(InternalIdentityProperties internalIdentityProperties) {
+        var codec = internalIdentityProperties.isEnabled()
+            ? new InternalIdentityCodec(internalIdentityProperties.getSecret())
+            : null;
+        return new InternalIdentityFilter(internalIdentityProperties, codec);
+    }
+}
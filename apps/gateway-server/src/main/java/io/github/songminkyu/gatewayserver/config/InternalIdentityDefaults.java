@@ -0,0 +1,11 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InternalIdentityDefaults {
+    public static final boolean ENABLED = false;
+    public static final String HEADER = "X-Internal-Identity";
+    public static final long TIME_TO_LIVE = 30000;
+}
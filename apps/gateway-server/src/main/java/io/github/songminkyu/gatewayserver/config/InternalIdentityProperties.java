@@ -0,0 +1,16 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.internal-identity")
+@Getter
+@Setter
+public class InternalIdentityProperties {
+
+    private boolean enabled = InternalIdentityDefaults.ENABLED;
+    private String header = InternalIdentityDefaults.HEADER;
+    private String secret;
+    private long timeToLive = InternalIdentityDefaults.TIME_TO_LIVE;
+}
@@ -0,0 +1,41 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.security.oauth2.CachingReactiveJwtDecoder;
+import io.github.songminkyu.gatewayserver.security.oauth2.JwtGrantedAuthorityConverter;
+import io.github.songminkyu.gatewayserver.security.oauth2.RefreshingJwkSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JwtCacheProperties.class)
+@ConditionalOnProperty("spring.security.oauth2.resourceserver.jwt.jwk-set-uri")
+public class JwtCacheConfig {
+
+    @Bean
+    public RefreshingJwkSource jwkSource(
+        @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+        JwtCacheProperties jwtCacheProperties,
+        MeterRegistry meterRegistry) {
+        var jwkSource = new RefreshingJwkSource(jwkSetUri, jwtCacheProperties.getJwks(), meterRegistry);
+        jwkSource.start();
+        return jwkSource;
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(
+        RefreshingJwkSource jwkSource,
+        JwtCacheProperties jwtCacheProperties,
+        MeterRegistry meterRegistry) {
+        return new CachingReactiveJwtDecoder(
+            NimbusReactiveJwtDecoder.withJwkSource(jwkSource).build(),
+            new JwtGrantedAuthorityConverter(),
+            jwtCacheProperties,
+            meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JwtCacheDefaults {
+    public static final boolean ENABLED = true;
+    public static final int MAX_ENTRIES = 10000;
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Jwks {
+        public static final long REFRESH_INTERVAL = 300000;
+        public static final long MIN_REFRESH_INTERVAL = 10000;
+    }
+}
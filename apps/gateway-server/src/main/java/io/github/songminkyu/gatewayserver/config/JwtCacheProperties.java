@@ -0,0 +1,22 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.jwt-cache")
+@Getter
+@Setter
+public class JwtCacheProperties {
+
+    private boolean enabled = JwtCacheDefaults.ENABLED;
+    private int maxEntries = JwtCacheDefaults.MAX_ENTRIES;
+    private Jwks jwks = new Jwks();
+
+    @Getter
+    @Setter
+    public static class Jwks {
+        private long refreshInterval = JwtCacheDefaults.Jwks.REFRESH_INTERVAL;
+        private long minRefreshInterval = JwtCacheDefaults.Jwks.MIN_REFRESH_INTERVAL;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.common.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import io.github.songminkyu.common.loadbalancer.LoadBalancingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(LoadBalancingProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+}
@@ -0,0 +1,35 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.filter.LoadSheddingFilter;
+import io.github.songminkyu.gatewayserver.ratelimit.EventLoopLagProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+@ConditionalOnProperty(value = "spring.load-shedding.enabled", havingValue = "true")
+public class LoadSheddingConfig {
+
+    /**
+     * Probes the shared reactor-netty event loops the gateway's HTTP server runs on.
+     */
+    @Bean(destroyMethod = "close")
+    public EventLoopLagProbe eventLoopLagProbe(LoadSheddingProperties loadSheddingProperties) {
+        return new EventLoopLagProbe(
+            HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE),
+            loadSheddingProperties.getProbeInterval());
+    }
+
+    @Bean
+    public LoadSheddingFilter loadSheddingFilter(
+        LoadSheddingProperties loadSheddingProperties,
+        EventLoopLagProbe eventLoopLagProbe,
+        MeterRegistry meterRegistry) {
+        return new LoadSheddingFilter(loadSheddingProperties, eventLoopLagProbe, meterRegistry);
+    }
+}
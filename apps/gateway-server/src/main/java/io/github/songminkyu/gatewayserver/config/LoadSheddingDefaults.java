@@ -0,0 +1,20 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.ratelimit.RequestPriority;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LoadSheddingDefaults {
+    public static final boolean ENABLED = false;
+    public static final int MAX_IN_FLIGHT = 1000;
+    public static final long MAX_EVENT_LOOP_LAG = 100;
+    public static final long PROBE_INTERVAL = 50;
+    public static final long RETRY_AFTER = 1;
+    public static final RequestPriority DEFAULT_PRIORITY = RequestPriority.NORMAL;
+    public static final Map<RequestPriority, Double> THRESHOLDS = Map.of(
+        RequestPriority.HIGH, 1.0,
+        RequestPriority.NORMAL, 0.8,
+        RequestPriority.LOW, 0.5);
+}
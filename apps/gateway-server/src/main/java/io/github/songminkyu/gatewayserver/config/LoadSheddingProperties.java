@@ -0,0 +1,39 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.ratelimit.RequestPriority;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.load-shedding")
+@Getter
+@Setter
+public class LoadSheddingProperties {
+
+    private boolean enabled = LoadSheddingDefaults.ENABLED;
+    private int maxInFlight = LoadSheddingDefaults.MAX_IN_FLIGHT;
+    private long maxEventLoopLag = LoadSheddingDefaults.MAX_EVENT_LOOP_LAG;
+    private long probeInterval = LoadSheddingDefaults.PROBE_INTERVAL;
+    private long retryAfter = LoadSheddingDefaults.RETRY_AFTER;
+    private RequestPriority defaultPriority = LoadSheddingDefaults.DEFAULT_PRIORITY;
+    private Map<RequestPriority, Double> thresholds = new EnumMap<>(LoadSheddingDefaults.THRESHOLDS);
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Assigns a priority to requests matching every non-empty criterion; the first matching
+     * rule wins.
+     */
+    @Getter
+    @Setter
+    public static class Rule {
+        private RequestPriority priority = LoadSheddingDefaults.DEFAULT_PRIORITY;
+        private List<String> routes = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        private List<String> authorities = new ArrayList<>();
+    }
+}
@@ -10,9 +10,13 @@ import com.github.loki4j.logback.JsonLayout;
 import com.github.loki4j.logback.Loki4jAppender;
 import io.github.songminkyu.gatewayserver.aspect.LoggingAspect;
 import io.github.songminkyu.gatewayserver.constants.Constants;
+import io.github.songminkyu.gatewayserver.filter.FilterUtility;
+import io.github.songminkyu.gatewayserver.filter.TraceFilter;
 import io.github.songminkyu.gatewayserver.logging.core.Sink;
 import io.github.songminkyu.gatewayserver.logging.reactive.LoggingFilter;
+import io.micrometer.context.ContextRegistry;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -46,6 +50,20 @@ public class LoggingConfig {
         if (loggingProperties.getLoki().isEnabled()) {
             addLoki4jAppender(context, loggingProperties.getLoki());
         }
+        registerCorrelationIdAccessor();
+    }
+
+    /**
+     * Lets context propagation copy the correlation id put into the Reactor context by
+     * {@link TraceFilter} into the logging MDC. The registry is global and replaces an
+     * accessor registered under the same key, so this is done once here rather than per filter.
+     */
+    private static void registerCorrelationIdAccessor() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+            FilterUtility.CORRELATION_ID_CONTEXT_KEY,
+            () -> MDC.get(FilterUtility.CORRELATION_ID_CONTEXT_KEY),
+            correlationId -> MDC.put(FilterUtility.CORRELATION_ID_CONTEXT_KEY, correlationId),
+            () -> MDC.remove(FilterUtility.CORRELATION_ID_CONTEXT_KEY));
     }
 
     public void addLoki4jAppender(
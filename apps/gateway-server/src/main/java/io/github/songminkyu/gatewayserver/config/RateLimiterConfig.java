@@ -0,0 +1,66 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import io.github.songminkyu.gatewayserver.ratelimit.LocalRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(RateLimiterProperties.class)
+public class RateLimiterConfig {
+
+    /**
+     * The default limiter of every {@code RequestRateLimiter} route, so route args must be
+     * given under {@code local-rate-limiter}.
+     */
+    @Bean
+    @Primary
+    public LocalRateLimiter localRateLimiter(
+        RateLimiterProperties rateLimiterProperties,
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry) {
+        return new LocalRateLimiter(rateLimiterProperties, configurationService, meterRegistry);
+    }
+
+    /**
+     * Periodically counts the registered gateway nodes so each one enforces its share of the
+     * configured limits. Discovery is polled off the request path; a failed poll keeps the
+     * last known size. The discovery client is looked up lazily because it is registered by
+     * auto-configuration after this class is processed; without one every node keeps the
+     * full limits.
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(value = "spring.rate-limiter.sync.enabled", havingValue = "true")
+    public Disposable rateLimiterClusterSync(
+        LocalRateLimiter localRateLimiter,
+        ObjectProvider<ReactiveDiscoveryClient> discoveryClients,
+        RateLimiterProperties rateLimiterProperties) {
+        var sync = rateLimiterProperties.getSync();
+        var discoveryClient = discoveryClients.getIfAvailable();
+        if (discoveryClient == null) {
+            log.warn("Rate limiter sync is enabled but no discovery client is available");
+            return Disposables.disposed();
+        }
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(sync.getInterval()))
+            .concatMap(tick -> discoveryClient.getInstances(sync.getServiceId())
+                .count()
+                .onErrorResume(e -> {
+                    log.warn("Could not count {} instances for rate limiting", sync.getServiceId(), e);
+                    return Mono.empty();
+                }))
+            .subscribe(size -> localRateLimiter.setClusterSize(size.intValue()));
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RateLimiterDefaults {
+    public static final boolean INCLUDE_HEADERS = true;
+    public static final int MAX_KEYS_PER_ROUTE = 100_000;
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Sync {
+        public static final boolean ENABLED = false;
+        public static final String SERVICE_ID = "gateway-server";
+        public static final long INTERVAL = 10000;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("spring.rate-limiter")
+@Getter
+@Setter
+public class RateLimiterProperties {
+
+    private boolean includeHeaders = RateLimiterDefaults.INCLUDE_HEADERS;
+    private int maxKeysPerRoute = RateLimiterDefaults.MAX_KEYS_PER_ROUTE;
+    private Sync sync = new Sync();
+
+    @Getter
+    @Setter
+    public static class Sync {
+        private boolean enabled = RateLimiterDefaults.Sync.ENABLED;
+        private String serviceId = RateLimiterDefaults.Sync.SERVICE_ID;
+        private long interval = RateLimiterDefaults.Sync.INTERVAL;
+    }
+}
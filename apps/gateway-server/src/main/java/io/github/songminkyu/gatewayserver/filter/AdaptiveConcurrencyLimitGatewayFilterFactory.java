@@ -0,0 +1,97 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import io.github.songminkyu.gatewayserver.ratelimit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Limits the requests in flight to a route's backend with an {@link AdaptiveConcurrencyLimiter}
+ * and answers {@code 503 Service Unavailable} beyond the learned limit instead of queuing.
+ *
+ * <p>Limiters outlive route refreshes so the learned limit is kept; once a refresh no longer
+ * yields a route, its limiter and meters are dropped.</p>
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config>
+    implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // route refreshes re-apply the filter; keep the learned limit and the registered meters
+        var limiter = limiters.compute(config.getRouteId(), (routeId, existing) -> {
+            if (existing == null) {
+                return new AdaptiveConcurrencyLimiter(routeId, config, meterRegistry);
+            }
+            existing.setSettings(config);
+            return existing;
+        });
+        return (exchange, chain) -> {
+            int inFlight = limiter.tryAcquire();
+            if (inFlight < 0) {
+                log.debug("Rejecting request to route {} at concurrency limit {}", config.getRouteId(), limiter.getLimit());
+                ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+                return exchange.getResponse().setComplete();
+            }
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                limiter.release();
+                if (signal != SignalType.CANCEL) {
+                    var status = exchange.getResponse().getStatusCode();
+                    boolean dropped = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                    limiter.onSample(System.nanoTime() - start, inFlight, dropped);
+                }
+            });
+        };
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess() || !(event.getSource() instanceof RouteLocator routeLocator)) {
+            return;
+        }
+        routeLocator.getRoutes()
+            .map(Route::getId)
+            .collect(Collectors.toSet())
+            .subscribe(routeIds -> limiters.entrySet().removeIf(entry -> {
+                if (routeIds.contains(entry.getKey())) {
+                    return false;
+                }
+                log.debug("Dropping concurrency limiter of removed route {}", entry.getKey());
+                entry.getValue().close();
+                return true;
+            }));
+    }
+
+    @Getter
+    @Setter
+    public static class Config extends AdaptiveConcurrencyLimiter.Settings implements HasRouteId {
+
+        private String routeId;
+    }
+}
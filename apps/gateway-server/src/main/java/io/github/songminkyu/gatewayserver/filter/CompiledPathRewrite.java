@@ -0,0 +1,93 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code RewritePath} regexp and replacement compiled once per route.
+ *
+ * <p>The leading literal of the regexp is checked with {@link String#indexOf} before any
+ * regex runs, so paths that cannot match are returned untouched. Rewrites of the common
+ * shape {@code /literal/(?<name>.*)} to {@code /literal/${name}} skip the regex engine
+ * entirely. Results are identical to {@code path.replaceAll(regexp, replacement)}.</p>
+ */
+final class CompiledPathRewrite {
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String QUANTIFIERS = "?*+{";
+    private static final Pattern TAIL_GROUP = Pattern.compile("\\((?:\\?<([a-zA-Z][a-zA-Z0-9]*)>)?\\.\\*\\)");
+
+    private final Pattern pattern;
+    private final String replacement;
+    private final String literalPrefix;
+    private final String literalReplacement;
+
+    private CompiledPathRewrite(Pattern pattern, String replacement, String literalPrefix, String literalReplacement) {
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.literalPrefix = literalPrefix;
+        this.literalReplacement = literalReplacement;
+    }
+
+    static CompiledPathRewrite compile(String regexp, String replacement) {
+        String normalized = replacement.replace("$\\", "$");
+        String prefix = literalPrefix(regexp);
+        return new CompiledPathRewrite(
+            Pattern.compile(regexp),
+            normalized,
+            prefix,
+            literalReplacement(regexp.substring(prefix.length()), normalized));
+    }
+
+    /**
+     * Returns the rewritten path, or the same instance when nothing matched.
+     */
+    String rewrite(String path) {
+        int start = literalPrefix.isEmpty() ? 0 : path.indexOf(literalPrefix);
+        if (start < 0) {
+            return path;
+        }
+        if (literalReplacement != null) {
+            return path.substring(0, start) + literalReplacement + path.substring(start + literalPrefix.length());
+        }
+        Matcher matcher = pattern.matcher(path);
+        return matcher.find() ? matcher.replaceAll(replacement) : path;
+    }
+
+    /**
+     * Returns the literal every match starts with, or an empty string when there is none.
+     */
+    private static String literalPrefix(String regexp) {
+        if (regexp.indexOf('|') >= 0) {
+            // an alternative may start with anything
+            return "";
+        }
+        int end = 0;
+        while (end < regexp.length() && REGEX_META_CHARACTERS.indexOf(regexp.charAt(end)) < 0) {
+            end++;
+        }
+        if (end > 0 && end < regexp.length() && QUANTIFIERS.indexOf(regexp.charAt(end)) >= 0) {
+            // the quantifier applies to the last literal character, which may then be absent
+            end--;
+        }
+        return regexp.substring(0, end);
+    }
+
+    /**
+     * Returns the literal that replaces the prefix when the regexp is the prefix followed by
+     * a single {@code (.*)} group and the replacement is a literal followed by that group,
+     * or {@code null} when the regex engine is needed.
+     */
+    private static String literalReplacement(String rest, String replacement) {
+        Matcher group = TAIL_GROUP.matcher(rest);
+        if (!group.matches()) {
+            return null;
+        }
+        String reference = group.group(1) != null ? "${" + group.group(1) + "}" : "$1";
+        if (!replacement.endsWith(reference)) {
+            return null;
+        }
+        String literal = replacement.substring(0, replacement.length() - reference.length());
+        return literal.indexOf('$') < 0 && literal.indexOf('\\') < 0 ? literal : null;
+    }
+}
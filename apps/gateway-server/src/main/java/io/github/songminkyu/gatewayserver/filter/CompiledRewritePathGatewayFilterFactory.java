@@ -0,0 +1,38 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Drop-in replacement for {@code RewritePath} backed by {@link CompiledPathRewrite}: paths
+ * that do not match leave the exchange untouched instead of rebuilding the request.
+ */
+@Component
+public class CompiledRewritePathGatewayFilterFactory extends RewritePathGatewayFilterFactory {
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        var rewrite = CompiledPathRewrite.compile(config.getRegexp(), config.getReplacement());
+        return (exchange, chain) -> {
+            String path = exchange.getRequest().getURI().getRawPath();
+            String newPath = rewrite.rewrite(path);
+            if (newPath == path) {
+                return chain.filter(exchange);
+            }
+
+            addOriginalRequestUrl(exchange, exchange.getRequest().getURI());
+            ServerWebExchange rewritten = exchange.mutate()
+                .request(request -> request.path(newPath))
+                .build();
+
+            rewritten.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, rewritten.getRequest().getURI());
+
+            return chain.filter(rewritten);
+        };
+    }
+}
@@ -5,28 +5,28 @@ import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.a
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 
 @Component
 public class ContextPathRewritePathGatewayFilterFactory extends RewritePathGatewayFilterFactory {
 
     @Override
     public GatewayFilter apply(Config config) {
-        String replacement = config.getReplacement().replace("$\\", "$");
+        var rewrite = CompiledPathRewrite.compile(config.getRegexp(), config.getReplacement());
         return (exchange, chain) -> {
-            ServerHttpRequest req = exchange.getRequest();
+            String path = exchange.getRequest().getURI().getRawPath();
+            String newPath = rewrite.rewrite(path);
 
-            addOriginalRequestUrl(exchange, req.getURI());
-            String path = req.getURI().getRawPath();
+            addOriginalRequestUrl(exchange, exchange.getRequest().getURI());
+            ServerWebExchange rewritten = exchange.mutate()
+                .request(request -> request.path(newPath).contextPath("/"))
+                .build();
 
-            String newPath = path.replaceAll(config.getRegexp(), replacement);
-            ServerHttpRequest request = req.mutate().path(newPath).contextPath("/").build();
+            rewritten.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, rewritten.getRequest().getURI());
 
-            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, request.getURI());
-
-            return chain.filter(exchange.mutate().request(request).build());
+            return chain.filter(rewritten);
         };
     }
 
-}
\ No newline at end of file
+}
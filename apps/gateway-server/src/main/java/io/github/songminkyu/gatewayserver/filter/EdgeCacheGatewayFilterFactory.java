@@ -0,0 +1,343 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.cache.EdgeResponseCache;
+import io.github.songminkyu.gatewayserver.cache.EdgeResponseCache.CachedResponse;
+import io.github.songminkyu.gatewayserver.cache.EdgeResponseCache.Result;
+import io.github.songminkyu.gatewayserver.config.EdgeCacheProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches eligible GET responses at the gateway so repeated reads never reach the backend.
+ *
+ * <p>Responses are keyed on route, path, query, the request's {@code Authorization} and the
+ * configured request headers, and stored for the response's {@code s-maxage}/{@code max-age},
+ * or the configured time to live when the backend sends none. {@code no-store},
+ * {@code private}, {@code no-cache} and {@code Set-Cookie} responses are never stored. A route
+ * whose backend marks everything uncacheable, as Spring Security does by default, can set an
+ * explicit {@code cacheControl} that replaces the backend's directives.</p>
+ *
+ * <p>Conditional requests are answered at the edge: a matching {@code If-None-Match} gets
+ * {@code 304 Not Modified} and the client's validators are never forwarded. When an entry
+ * expires, one request revalidates it while concurrent requests keep getting the stale copy;
+ * the revalidation is conditional only when the backend supplied the ETag.</p>
+ */
+@Component
+public class EdgeCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<EdgeCacheGatewayFilterFactory.Config> {
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+        HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+        HttpHeaders.DATE, HttpHeaders.AGE, HttpHeaders.SET_COOKIE, FilterUtility.CORRELATION_ID);
+
+    private final EdgeResponseCache edgeResponseCache;
+    private final EdgeCacheProperties edgeCacheProperties;
+
+    public EdgeCacheGatewayFilterFactory(
+        EdgeResponseCache edgeResponseCache,
+        EdgeCacheProperties edgeCacheProperties) {
+        super(Config.class);
+        this.edgeResponseCache = edgeResponseCache;
+        this.edgeCacheProperties = edgeCacheProperties;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> patterns = config.getPathPatterns().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+        long timeToLive = config.getTimeToLive() != null
+            ? config.getTimeToLive()
+            : edgeCacheProperties.getTimeToLive();
+        GatewayFilter filter = (exchange, chain) -> {
+            var request = exchange.getRequest();
+            if (!edgeCacheProperties.isEnabled()
+                || request.getMethod() != HttpMethod.GET
+                || !matches(patterns, request)
+                || bypassesCache(request.getHeaders())) {
+                return chain.filter(exchange);
+            }
+            String routeId = routeId(exchange);
+            String key = key(routeId, request, config.getHeaders());
+            long now = System.currentTimeMillis();
+            var cached = edgeResponseCache.get(key);
+            if (cached == null) {
+                return forward(exchange, chain, routeId, key, timeToLive, config.getCacheControl(), null);
+            }
+            if (cached.isFresh(now)) {
+                return serve(exchange, routeId, cached, now, Result.HIT);
+            }
+            if (!edgeResponseCache.startRevalidation(key)) {
+                return serve(exchange, routeId, cached, now, Result.STALE);
+            }
+            return forward(exchange, chain, routeId, key, timeToLive, config.getCacheControl(), cached)
+                .doFinally(signal -> edgeResponseCache.endRevalidation(key));
+        };
+        // must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return new OrderedGatewayFilter(filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, String routeId, CachedResponse cached, long now, Result result) {
+        var response = exchange.getResponse();
+        var headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, String.valueOf((now - cached.storedAt()) / 1000));
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            edgeResponseCache.record(routeId, Result.NOT_MODIFIED, cached.body().length);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        edgeResponseCache.record(routeId, result, cached.body().length);
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private Mono<Void> forward(
+        ServerWebExchange exchange,
+        GatewayFilterChain chain,
+        String routeId,
+        String key,
+        long timeToLive,
+        String cacheControl,
+        CachedResponse stale) {
+        // mutating the request edits the original headers, so keep what the client sent
+        var ifNoneMatch = List.copyOf(exchange.getRequest().getHeaders().getIfNoneMatch());
+        // the client's validators may be ones the gateway made up, so the edge answers them itself
+        var request = exchange.getRequest().mutate()
+            .headers(headers -> {
+                headers.remove(HttpHeaders.IF_NONE_MATCH);
+                headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                if (stale != null && !stale.generatedEtag()) {
+                    headers.setIfNoneMatch(stale.etag());
+                }
+            })
+            .build();
+        var response = new CachingResponse(
+            exchange.getResponse(), ifNoneMatch, routeId, key, timeToLive, cacheControl, stale);
+        return chain.filter(exchange.mutate().request(request).response(response).build());
+    }
+
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final List<String> ifNoneMatch;
+        private final String routeId;
+        private final String key;
+        private final long defaultTimeToLive;
+        private final String cacheControl;
+        private final CachedResponse stale;
+
+        private CachingResponse(
+            ServerHttpResponse delegate,
+            List<String> ifNoneMatch,
+            String routeId,
+            String key,
+            long defaultTimeToLive,
+            String cacheControl,
+            CachedResponse stale) {
+            super(delegate);
+            this.ifNoneMatch = ifNoneMatch;
+            this.routeId = routeId;
+            this.key = key;
+            this.defaultTimeToLive = defaultTimeToLive;
+            this.cacheControl = cacheControl;
+            this.stale = stale;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long now = System.currentTimeMillis();
+            boolean notModified = stale != null && getStatusCode() == HttpStatus.NOT_MODIFIED;
+            if (cacheControl != null && (notModified || getStatusCode() == HttpStatus.OK)) {
+                getHeaders().setCacheControl(cacheControl);
+                getHeaders().remove(HttpHeaders.PRAGMA);
+                getHeaders().remove(HttpHeaders.EXPIRES);
+            }
+            if (notModified) {
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(() -> revalidated(now)));
+            }
+            long timeToLive = timeToLive(getHeaders(), defaultTimeToLive);
+            edgeResponseCache.record(routeId, Result.MISS, 0);
+            if (getStatusCode() != HttpStatus.OK
+                || timeToLive <= 0
+                || getHeaders().containsKey(HttpHeaders.SET_COOKIE)
+                || getHeaders().getContentLength() > edgeCacheProperties.getMaxBodySize()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                if (bytes.length > edgeCacheProperties.getMaxBodySize()) {
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+                var stored = store(bytes, now, timeToLive);
+                if (etagMatches(ifNoneMatch, stored.etag())) {
+                    return notModified();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private Mono<Void> revalidated(long now) {
+            long timeToLive = timeToLive(getHeaders(), defaultTimeToLive);
+            edgeResponseCache.put(key, stale.refreshed(now, Math.max(timeToLive, 0)));
+            edgeResponseCache.record(routeId, Result.REVALIDATED, stale.body().length);
+            getHeaders().putAll(stale.headers());
+            if (etagMatches(ifNoneMatch, stale.etag())) {
+                return notModified();
+            }
+            setStatusCode(HttpStatus.OK);
+            getHeaders().setContentLength(stale.body().length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(stale.body())));
+        }
+
+        private Mono<Void> notModified() {
+            setStatusCode(HttpStatus.NOT_MODIFIED);
+            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return super.setComplete();
+        }
+
+        private CachedResponse store(byte[] bytes, long now, long timeToLive) {
+            var headers = getHeaders();
+            String etag = headers.getETag();
+            boolean generatedEtag = etag == null;
+            if (generatedEtag) {
+                etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                headers.setETag(etag);
+            }
+            var stored = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    stored.put(name, new ArrayList<>(values));
+                }
+            });
+            var response = new CachedResponse(
+                HttpHeaders.readOnlyHttpHeaders(stored), bytes, etag, generatedEtag, now, now + timeToLive);
+            edgeResponseCache.put(key, response);
+            return response;
+        }
+    }
+
+    private static boolean matches(List<PathPattern> patterns, ServerHttpRequest request) {
+        var path = PathContainer.parsePath(request.getURI().getRawPath());
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static boolean bypassesCache(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("no-cache"));
+    }
+
+    /**
+     * Returns the freshness lifetime in milliseconds, or 0 when the response must not be stored.
+     */
+    private static long timeToLive(HttpHeaders headers, long defaultTimeToLive) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return defaultTimeToLive;
+        }
+        long maxAge = -1;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store") || directive.equals("private") || directive.equals("no-cache")) {
+                return 0;
+            }
+            if (directive.startsWith("s-maxage=")) {
+                maxAge = parseSeconds(directive.substring("s-maxage=".length()));
+            } else if (directive.startsWith("max-age=") && maxAge < 0) {
+                maxAge = parseSeconds(directive.substring("max-age=".length()));
+            }
+        }
+        return maxAge >= 0 ? TimeUnit.SECONDS.toMillis(maxAge) : defaultTimeToLive;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*") || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    /**
+     * Builds the cache key. The {@code Authorization} header is always part of it, so a response
+     * fetched with one credential is never served to a request carrying another.
+     */
+    private static String key(String routeId, ServerHttpRequest request, List<String> headerNames) {
+        var key = new StringBuilder(routeId).append(' ').append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        key.append('\n').append(HttpHeaders.AUTHORIZATION).append(':')
+            .append(request.getHeaders().getOrEmpty(HttpHeaders.AUTHORIZATION));
+        for (String headerName : headerNames) {
+            key.append('\n').append(headerName).append(':').append(request.getHeaders().getOrEmpty(headerName));
+        }
+        return key.toString();
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private List<String> pathPatterns = List.of("/**");
+
+        private List<String> headers = List.of();
+
+        private Long timeToLive;
+
+        /**
+         * {@code Cache-Control} that replaces the backend's on successful responses, for
+         * backends that mark every response uncacheable.
+         */
+        private String cacheControl;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stamps the arrival of each request ahead of the security filters, so that
+ * {@link FilterTimingWebHandler} can report the time spent before the gateway filter chain.
+ */
+public class FilterTimingWebFilter implements WebFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        exchange.getAttributes().put(FilterTimingWebHandler.ARRIVAL_ATTR, System.nanoTime());
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,316 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.config.FilterTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link FilteringWebHandler} that times every global and route filter of the chain.
+ *
+ * <p>Each request gets two preallocated slot arrays: the first time each filter was
+ * subscribed and the accumulated time until it completed. A filter's own time is its total
+ * minus the total of the filter it handed the request to, which isolates token relay,
+ * rewrites, load balancer selection or the upstream call itself. The time spent in web
+ * filters before the chain, such as JWT validation, is measured from
+ * {@link #ARRIVAL_ATTR} when {@link FilterTimingWebFilter} is present.</p>
+ *
+ * <p>Own times feed the {@code gateway.filter.duration} timers once the chain completes. The
+ * optional {@code Server-Timing} header is only written for callers holding one of the
+ * {@code server-timing-authorities}, as it shows how the gateway is put together. It is
+ * written before the response commits, while outer filters are still running, so it reports
+ * for each filter the time spent before it handed the request on and, for the last one
+ * reached, its full time.</p>
+ *
+ * <p>The cost of this bookkeeping is recorded once per request in
+ * {@code gateway.filter.timing.overhead}: the wrapping of every hop, its clock reads and
+ * allocations, as well as recording the timers and writing the header.</p>
+ */
+public class FilterTimingWebHandler extends FilteringWebHandler {
+
+    public static final String ARRIVAL_ATTR = FilterTimingWebHandler.class.getName() + ".arrival";
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String DURATION_METRIC_NAME = "gateway.filter.duration";
+    private static final String OVERHEAD_METRIC_NAME = "gateway.filter.timing.overhead";
+    private static final String WEB_FILTERS = "WebFilters";
+    private static final String FACTORY_SUFFIX = "GatewayFilterFactory";
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<GatewayFilter> globalFilters;
+    private final FilterTimingProperties filterTimingProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, TimedRoute> routes = new ConcurrentHashMap<>();
+    private final Timer webFiltersTimer;
+    private final Timer overheadTimer;
+
+    public FilterTimingWebHandler(
+        List<GlobalFilter> globalFilters,
+        FilterTimingProperties filterTimingProperties,
+        MeterRegistry meterRegistry) {
+        super(globalFilters);
+        this.globalFilters = globalFilters.stream().map(FilterTimingWebHandler::adapt).toList();
+        this.filterTimingProperties = filterTimingProperties;
+        this.meterRegistry = meterRegistry;
+        this.webFiltersTimer = timer(WEB_FILTERS);
+        this.overheadTimer = Timer.builder(OVERHEAD_METRIC_NAME)
+            .description("Time spent per request recording gateway filter timings")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange) {
+        Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
+        var timedRoute = timedRoute(route);
+        Long arrival = exchange.getAttribute(ARRIVAL_ATTR);
+        var timings = new Timings(timedRoute, arrival != null ? arrival : 0);
+        if (filterTimingProperties.isServerTiming()) {
+            var response = exchange.getResponse();
+            response.beforeCommit(() -> serverTimingAllowed(exchange)
+                .doOnNext(allowed -> {
+                    long start = System.nanoTime();
+                    String serverTiming = timings.serverTiming();
+                    if (!serverTiming.isEmpty()) {
+                        response.getHeaders().add(SERVER_TIMING_HEADER, serverTiming);
+                    }
+                    timings.overhead.addAndGet(System.nanoTime() - start);
+                })
+                .then());
+        }
+        return new TimedChain(timings, 0).filter(exchange).doFinally(signal -> timings.record());
+    }
+
+    private Mono<Boolean> serverTimingAllowed(ServerWebExchange exchange) {
+        var authorities = filterTimingProperties.getServerTimingAuthorities();
+        return exchange.getPrincipal()
+            .filter(Authentication.class::isInstance)
+            .flatMapIterable(principal -> ((Authentication) principal).getAuthorities())
+            .any(authority -> authorities.contains(authority.getAuthority()))
+            .filter(Boolean::booleanValue);
+    }
+
+    private TimedRoute timedRoute(Route route) {
+        var timedRoute = routes.get(route.getId());
+        if (timedRoute == null || timedRoute.route != route) {
+            // routes are rebuilt on refresh; the cached chain is only valid for the same instance
+            timedRoute = new TimedRoute(route);
+            routes.put(route.getId(), timedRoute);
+        }
+        return timedRoute;
+    }
+
+    private Timer timer(String filterName) {
+        return timers.computeIfAbsent(filterName, name -> Timer.builder(DURATION_METRIC_NAME)
+            .tag("filter", name)
+            .publishPercentileHistogram(filterTimingProperties.isHistogram())
+            .description("Time spent in a gateway filter, excluding the filters it delegated to")
+            .register(meterRegistry));
+    }
+
+    private static GatewayFilter adapt(GlobalFilter filter) {
+        var adapter = new GlobalFilterAdapter(filter);
+        return filter instanceof Ordered ordered ? new OrderedGatewayFilter(adapter, ordered.getOrder()) : adapter;
+    }
+
+    /**
+     * Returns the name a filter is configured with, e.g. {@code RewritePath}, or the simple
+     * class name of a global filter.
+     */
+    private static String nameOf(GatewayFilter filter) {
+        Object target = filter;
+        while (true) {
+            if (target instanceof OrderedGatewayFilter ordered) {
+                target = ordered.getDelegate();
+            } else if (target instanceof GlobalFilterAdapter adapter) {
+                target = adapter.delegate;
+            } else {
+                break;
+            }
+        }
+        String description = target.toString();
+        if (description.startsWith("[")) {
+            int end = 1;
+            while (end < description.length() && Character.isJavaIdentifierPart(description.charAt(end))) {
+                end++;
+            }
+            if (end > 1) {
+                return description.substring(1, end);
+            }
+        }
+        // cut lambda and CGLIB suffixes alike
+        String className = target.getClass().getName();
+        int generated = className.indexOf("$$");
+        String name = ClassUtils.getShortName(generated > 0 ? className.substring(0, generated) : className);
+        int nested = name.lastIndexOf('.');
+        name = nested >= 0 ? name.substring(nested + 1) : name;
+        return name.endsWith(FACTORY_SUFFIX) ? name.substring(0, name.length() - FACTORY_SUFFIX.length()) : name;
+    }
+
+    private final class TimedRoute {
+
+        private final Route route;
+        private final GatewayFilter[] filters;
+        private final String[] names;
+        private final Timer[] timers;
+
+        private TimedRoute(Route route) {
+            this.route = route;
+            List<GatewayFilter> combined = new ArrayList<>(globalFilters);
+            combined.addAll(route.getFilters());
+            AnnotationAwareOrderComparator.sort(combined);
+            this.filters = combined.toArray(GatewayFilter[]::new);
+            this.names = new String[filters.length];
+            this.timers = new Timer[filters.length];
+            for (int i = 0; i < filters.length; i++) {
+                names[i] = nameOf(filters[i]);
+                timers[i] = timer(names[i]);
+            }
+        }
+    }
+
+    /**
+     * Per-request slots, indexed by the position of the filter in the chain.
+     */
+    private final class Timings {
+
+        private final TimedRoute timedRoute;
+        private final long arrival;
+        private final AtomicLongArray started;
+        private final AtomicLongArray total;
+        private final AtomicLong overhead = new AtomicLong();
+
+        private Timings(TimedRoute timedRoute, long arrival) {
+            this.timedRoute = timedRoute;
+            this.arrival = arrival;
+            this.started = new AtomicLongArray(timedRoute.filters.length);
+            this.total = new AtomicLongArray(timedRoute.filters.length);
+        }
+
+        private long own(int index) {
+            return index + 1 < total.length() ? total.get(index) - total.get(index + 1) : total.get(index);
+        }
+
+        private void record() {
+            long start = System.nanoTime();
+            if (arrival != 0 && started.get(0) != 0) {
+                webFiltersTimer.record(started.get(0) - arrival, TimeUnit.NANOSECONDS);
+            }
+            for (int i = 0; i < total.length() && started.get(i) != 0; i++) {
+                timedRoute.timers[i].record(Math.max(0, own(i)), TimeUnit.NANOSECONDS);
+            }
+            overheadTimer.record(overhead.addAndGet(System.nanoTime() - start), TimeUnit.NANOSECONDS);
+        }
+
+        private String serverTiming() {
+            var header = new StringBuilder();
+            if (arrival != 0 && started.get(0) != 0) {
+                append(header, WEB_FILTERS, started.get(0) - arrival);
+            }
+            for (int i = 0; i < started.length() && started.get(i) != 0; i++) {
+                if (i + 1 < started.length() && started.get(i + 1) != 0) {
+                    append(header, timedRoute.names[i], started.get(i + 1) - started.get(i));
+                } else if (total.get(i) != 0) {
+                    append(header, timedRoute.names[i], total.get(i));
+                }
+            }
+            return header.toString();
+        }
+
+        private void append(StringBuilder header, String name, long nanos) {
+            if (nanos < filterTimingProperties.getServerTimingThreshold() * 1000L) {
+                return;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI));
+        }
+    }
+
+    private final class TimedChain implements GatewayFilterChain {
+
+        private final Timings timings;
+        private final int index;
+
+        private TimedChain(Timings timings, int index) {
+            this.timings = timings;
+            this.index = index;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            long assembly = System.nanoTime();
+            var deferred = Mono.defer(() -> hop(exchange));
+            timings.overhead.addAndGet(System.nanoTime() - assembly);
+            return deferred;
+        }
+
+        private Mono<Void> hop(ServerWebExchange exchange) {
+            long entered = System.nanoTime();
+            if (index >= timings.started.length()) {
+                return Mono.empty();
+            }
+            var next = new TimedChain(timings, index + 1);
+            long start = System.nanoTime();
+            timings.started.compareAndSet(index, 0, start);
+            // stop before completion propagates, the response may be committed right after
+            Runnable stop = () -> {
+                long end = System.nanoTime();
+                timings.total.addAndGet(index, end - start);
+                timings.overhead.addAndGet(System.nanoTime() - end);
+            };
+            var filtered = timings.timedRoute.filters[index].filter(exchange, next);
+            long wrap = System.nanoTime();
+            var timed = filtered.doOnTerminate(stop).doOnCancel(stop);
+            timings.overhead.addAndGet(start - entered + System.nanoTime() - wrap);
+            return timed;
+        }
+    }
+
+    private static final class GlobalFilterAdapter implements GatewayFilter, DecoratingProxy {
+
+        private final GlobalFilter delegate;
+
+        private GlobalFilterAdapter(GlobalFilter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            return delegate.filter(exchange, chain);
+        }
+
+        @Override
+        public Class<?> getDecoratedClass() {
+            return ClassUtils.getUserClass(delegate);
+        }
+
+        @Override
+        public String toString() {
+            return "GlobalFilterAdapter{delegate=" + delegate + "}";
+        }
+    }
+}
@@ -1,41 +1,30 @@
 package io.github.songminkyu.gatewayserver.filter;
 
-import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
 
 @Component
 public class FilterUtility {
 
     public static final String CORRELATION_ID = "X-Correlation-Id";
+    public static final String CORRELATION_ID_CONTEXT_KEY = "correlationId";
 
     public String getCorrelationId(HttpHeaders requestHeaders) {
-        var optionalHeader = Optional.ofNullable(requestHeaders.get(CORRELATION_ID));
-        if (optionalHeader.isPresent()) {
-            List<String> requestHeaderList = optionalHeader.get();
-            return requestHeaderList.iterator().next();
-        } else {
-            return null;
-        }
-    }
-
-    public boolean hasCorrelationId(HttpHeaders header) {
-        return header.containsKey(CORRELATION_ID);
-    }
-
-    public ServerWebExchange setRequestHeader(ServerWebExchange exchange, String name, String value) {
-        return exchange.mutate().request(exchange.getRequest().mutate().header(name, value).build()).build();
-    }
-
-    public ServerWebExchange setCorrelationId(ServerWebExchange exchange, String correlationId) {
-        return this.setRequestHeader(exchange, CORRELATION_ID, correlationId);
+        return requestHeaders.getFirst(CORRELATION_ID);
     }
 
+    /**
+     * Generates a time-ordered UUID (version 7) from the current millisecond and
+     * {@link ThreadLocalRandom}, avoiding the contended {@code SecureRandom} behind
+     * {@link UUID#randomUUID()}. Correlation ids need to be unique, not unpredictable.
+     */
     public String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        var random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import io.github.songminkyu.common.security.internal.InternalIdentityCodec;
+import io.github.songminkyu.gatewayserver.config.InternalIdentityProperties;
+import java.time.Instant;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Attaches a short-lived HMAC-signed identity assertion for the already validated JWT so
+ * downstream services can authenticate the request without verifying the token again.
+ * Any assertion sent by the client is always removed.
+ */
+public class InternalIdentityFilter implements GlobalFilter, Ordered {
+
+    private static final String PREFERRED_USERNAME = "preferred_username";
+
+    private final InternalIdentityProperties internalIdentityProperties;
+    private final InternalIdentityCodec codec;
+
+    public InternalIdentityFilter(InternalIdentityProperties internalIdentityProperties, InternalIdentityCodec codec) {
+        this.internalIdentityProperties = internalIdentityProperties;
+        this.codec = codec;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String header = internalIdentityProperties.getHeader();
+        if (exchange.getRequest().getHeaders().containsKey(header)) {
+            exchange = exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(header)))
+                .build();
+        }
+        if (codec == null) {
+            return chain.filter(exchange);
+        }
+        var stripped = exchange;
+        return exchange.getPrincipal()
+            .filter(JwtAuthenticationToken.class::isInstance)
+            .cast(JwtAuthenticationToken.class)
+            .map(authentication -> stripped.mutate()
+                .request(request -> request.header(header, assertion(authentication)))
+                .build())
+            .defaultIfEmpty(stripped)
+            .flatMap(chain::filter);
+    }
+
+    private String assertion(JwtAuthenticationToken authentication) {
+        var jwt = authentication.getToken();
+        String subject = jwt.hasClaim(PREFERRED_USERNAME) ? jwt.getClaimAsString(PREFERRED_USERNAME) : jwt.getSubject();
+        var expiresAt = Instant.now().plusMillis(internalIdentityProperties.getTimeToLive());
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        var authorities = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+        return codec.encode(subject, authorities, expiresAt);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
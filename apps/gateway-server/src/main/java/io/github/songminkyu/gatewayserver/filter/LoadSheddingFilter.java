@@ -0,0 +1,171 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.config.LoadSheddingProperties;
+import io.github.songminkyu.gatewayserver.ratelimit.EventLoopLagProbe;
+import io.github.songminkyu.gatewayserver.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sheds routed requests by priority while the gateway is overloaded, answering
+ * {@code 503 Service Unavailable} with {@code Retry-After} before any backend work is done.
+ *
+ * <p>Requests are classified by the configured rules on route, method, path and authority.
+ * The overload pressure is the larger of the event loop lag and the requests in flight, each
+ * relative to its configured maximum. A class is shed once the pressure reaches its
+ * threshold, so the lowest class goes first and {@link RequestPriority#CRITICAL} is never
+ * shed.</p>
+ */
+@Slf4j
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    private static final String REQUESTS_METRIC_NAME = "gateway.load-shedding.requests";
+    private static final String IN_FLIGHT_METRIC_NAME = "gateway.load-shedding.in-flight";
+    private static final String LAG_METRIC_NAME = "gateway.load-shedding.event-loop-lag";
+
+    private final LoadSheddingProperties loadSheddingProperties;
+    private final EventLoopLagProbe eventLoopLagProbe;
+    private final List<CompiledRule> rules;
+    private final boolean authoritiesNeeded;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> admitted = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> shed = new EnumMap<>(RequestPriority.class);
+
+    public LoadSheddingFilter(
+        LoadSheddingProperties loadSheddingProperties,
+        EventLoopLagProbe eventLoopLagProbe,
+        MeterRegistry meterRegistry) {
+        this.loadSheddingProperties = loadSheddingProperties;
+        this.eventLoopLagProbe = eventLoopLagProbe;
+        this.rules = loadSheddingProperties.getRules().stream().map(CompiledRule::compile).toList();
+        this.authoritiesNeeded = rules.stream().anyMatch(rule -> !rule.authorities().isEmpty());
+        for (var priority : RequestPriority.values()) {
+            admitted.put(priority, requests(meterRegistry, priority, "admitted"));
+            shed.put(priority, requests(meterRegistry, priority, "shed"));
+        }
+        Gauge.builder(IN_FLIGHT_METRIC_NAME, inFlight, AtomicInteger::get)
+            .description("Routed requests currently admitted by load shedding")
+            .register(meterRegistry);
+        TimeGauge.builder(LAG_METRIC_NAME, eventLoopLagProbe, TimeUnit.NANOSECONDS, EventLoopLagProbe::lag)
+            .description("Largest delay of the Netty event loops in running a scheduled probe")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return classify(exchange).flatMap(priority -> {
+            if (!admit(priority)) {
+                shed.get(priority).increment();
+                log.debug("Shedding {} priority request to {}", priority, exchange.getRequest().getPath());
+                ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders()
+                    .set(HttpHeaders.RETRY_AFTER, String.valueOf(loadSheddingProperties.getRetryAfter()));
+                return exchange.getResponse().setComplete();
+            }
+            admitted.get(priority).increment();
+            inFlight.incrementAndGet();
+            return chain.filter(exchange).doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private boolean admit(RequestPriority priority) {
+        if (priority == RequestPriority.CRITICAL) {
+            return true;
+        }
+        double lag = (double) eventLoopLagProbe.lag()
+            / TimeUnit.MILLISECONDS.toNanos(loadSheddingProperties.getMaxEventLoopLag());
+        double load = (double) inFlight.get() / loadSheddingProperties.getMaxInFlight();
+        return Math.max(lag, load) < loadSheddingProperties.getThresholds().getOrDefault(priority, 1.0);
+    }
+
+    private Mono<RequestPriority> classify(ServerWebExchange exchange) {
+        if (!authoritiesNeeded) {
+            return Mono.just(classify(exchange, List.of()));
+        }
+        return exchange.getPrincipal()
+            .filter(Authentication.class::isInstance)
+            .<Collection<? extends GrantedAuthority>>map(principal -> ((Authentication) principal).getAuthorities())
+            .defaultIfEmpty(List.of())
+            .map(authorities -> classify(exchange, authorities));
+    }
+
+    private RequestPriority classify(ServerWebExchange exchange, Collection<? extends GrantedAuthority> authorities) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        var request = exchange.getRequest();
+        String method = request.getMethod().name();
+        var path = request.getPath().pathWithinApplication();
+        for (var rule : rules) {
+            if (rule.matches(routeId, method, path, authorities)) {
+                return rule.priority();
+            }
+        }
+        return loadSheddingProperties.getDefaultPriority();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, RequestPriority priority, String result) {
+        return Counter.builder(REQUESTS_METRIC_NAME)
+            .tag("priority", priority.name().toLowerCase())
+            .tag("result", result)
+            .description("Routed requests seen by load shedding")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // shed before any other filter spends work on the request
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private record CompiledRule(
+        RequestPriority priority,
+        Set<String> routes,
+        Set<String> methods,
+        List<PathPattern> paths,
+        Set<String> authorities) {
+
+        private static CompiledRule compile(LoadSheddingProperties.Rule rule) {
+            return new CompiledRule(
+                rule.getPriority(),
+                Set.copyOf(rule.getRoutes()),
+                Set.copyOf(rule.getMethods().stream().map(String::toUpperCase).toList()),
+                rule.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                Set.copyOf(rule.getAuthorities()));
+        }
+
+        private boolean matches(
+            String routeId, String method, PathContainer path, Collection<? extends GrantedAuthority> granted) {
+            return (routes.isEmpty() || routes.contains(routeId))
+                && (methods.isEmpty() || methods.contains(method))
+                && (paths.isEmpty() || paths.stream().anyMatch(pattern -> pattern.matches(path)))
+                && (authorities.isEmpty()
+                    || granted.stream().anyMatch(authority -> authorities.contains(authority.getAuthority())));
+        }
+    }
+}
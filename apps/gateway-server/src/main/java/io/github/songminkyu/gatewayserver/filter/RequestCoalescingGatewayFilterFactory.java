@@ -0,0 +1,269 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical concurrent GETs into one upstream exchange.
+ *
+ * <p>The first request for a key becomes the leader and is forwarded; requests arriving
+ * while it is in flight wait for its buffered response and get a copy of it. When the
+ * leader's response cannot be shared (no Content-Length, over the size limit, a stream, or
+ * failed), each waiter is forwarded on its own. Only bodies within the limit are ever held in
+ * memory. The key is the route, path, and optionally the query, the
+ * authenticated principal and selected request headers.</p>
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final String REQUESTS_METRIC_NAME = "gateway.coalescing.requests";
+    private static final String IN_FLIGHT_METRIC_NAME = "gateway.coalescing.in-flight";
+    private static final String ALL_ROUTES = "all";
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+        HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+        HttpHeaders.SET_COOKIE, FilterUtility.CORRELATION_ID);
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+        MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON);
+
+    private final CoalescingProperties coalescingProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescingGatewayFilterFactory(
+        CoalescingProperties coalescingProperties,
+        MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.coalescingProperties = coalescingProperties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(IN_FLIGHT_METRIC_NAME, inFlight, Map::size)
+            .description("Number of upstream exchanges currently shared by coalesced requests")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter filter = (exchange, chain) -> {
+            if (!coalescingProperties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            return key(exchange, config).flatMap(key -> coalesce(exchange, chain, key));
+        };
+        // must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return new OrderedGatewayFilter(filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> coalesce(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        String routeId = routeId(exchange);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        var leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            // pick the branch first: the replay itself completes empty
+            return leader.asMono()
+                .map(shared -> Mono.defer(() -> {
+                    record(routeId, "collapsed");
+                    return replay(exchange, shared);
+                }))
+                .defaultIfEmpty(Mono.defer(() -> {
+                    record(routeId, "fallback");
+                    return chain.filter(exchange);
+                }))
+                .flatMap(Function.identity());
+        }
+        record(routeId, "leader");
+        var response = new SharingResponse(exchange.getResponse(), key, sink);
+        return chain.filter(exchange.mutate().response(response).build())
+            .doFinally(signal -> response.release());
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, SharedResponse shared) {
+        var response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+
+        private SharingResponse(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isShareable()) {
+                release();
+                return super.writeWith(body);
+            }
+            return super.writeWith(shareOrPassThrough(body));
+        }
+
+        /**
+         * Only bodies of a known, bounded length are held back; streams are never buffered.
+         */
+        private boolean isShareable() {
+            long contentLength = getHeaders().getContentLength();
+            var contentType = getHeaders().getContentType();
+            return getStatusCode() != null
+                && contentLength >= 0
+                && contentLength <= coalescingProperties.getMaxBodySize()
+                && (contentType == null || STREAMING_TYPES.stream().noneMatch(contentType::isCompatibleWith));
+        }
+
+        /**
+         * Holds the body up to the size limit and shares it once complete. A body that outgrows
+         * the limit despite its Content-Length is flushed as held and streams through unshared.
+         */
+        private Flux<DataBuffer> shareOrPassThrough(Publisher<? extends DataBuffer> body) {
+            long maxBodySize = coalescingProperties.getMaxBodySize();
+            return Flux.defer(() -> {
+                List<DataBuffer> held = new ArrayList<>();
+                var heldBytes = new AtomicLong();
+                var overflowed = new AtomicBoolean();
+                return Flux.<DataBuffer>from(body)
+                    .concatMap(buffer -> {
+                        if (overflowed.get()) {
+                            return Mono.just(buffer);
+                        }
+                        held.add(buffer);
+                        if (heldBytes.addAndGet(buffer.readableByteCount()) <= maxBodySize) {
+                            return Mono.empty();
+                        }
+                        overflowed.set(true);
+                        release();
+                        var flushed = List.copyOf(held);
+                        held.clear();
+                        return Flux.fromIterable(flushed);
+                    })
+                    .concatWith(Mono.defer(() -> {
+                        if (overflowed.get()) {
+                            return Mono.empty();
+                        }
+                        var joined = bufferFactory().join(List.copyOf(held));
+                        held.clear();
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        share(bytes);
+                        return Mono.just(bufferFactory().wrap(bytes));
+                    }))
+                    .doFinally(signal -> {
+                        held.forEach(DataBufferUtils::release);
+                        held.clear();
+                    });
+            });
+        }
+
+        private void share(byte[] bytes) {
+            var headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.put(name, new ArrayList<>(values));
+                }
+            });
+            inFlight.remove(key, sink);
+            sink.tryEmitValue(new SharedResponse(getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), bytes));
+        }
+
+        /**
+         * Ends the flight without a shareable response so waiters forward on their own.
+         */
+        private void release() {
+            inFlight.remove(key, sink);
+            sink.tryEmitEmpty();
+        }
+    }
+
+    private Mono<String> key(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        var key = new StringBuilder(routeId(exchange)).append(' ').append(request.getURI().getRawPath());
+        if (config.isIncludeQuery() && request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        for (String headerName : config.getHeaders()) {
+            key.append('\n').append(headerName).append(':').append(request.getHeaders().getOrEmpty(headerName));
+        }
+        if (!config.isIncludePrincipal()) {
+            return Mono.just(key.toString());
+        }
+        return exchange.getPrincipal()
+            .map(Principal::getName)
+            .defaultIfEmpty("")
+            .map(principal -> key.append('\n').append(principal).toString());
+    }
+
+    private void record(String routeId, String result) {
+        if (!coalescingProperties.getMetrics().isEnabled()) {
+            return;
+        }
+        String route = coalescingProperties.getMetrics().isPerRoute() ? routeId : ALL_ROUTES;
+        counters.computeIfAbsent(route + ' ' + result, name -> Counter.builder(REQUESTS_METRIC_NAME)
+                .tag("route", route)
+                .tag("result", result)
+                .description("GET requests seen by the coalescing filter")
+                .register(meterRegistry))
+            .increment();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        private boolean includeQuery = true;
+
+        private boolean includePrincipal = true;
+
+        private List<String> headers = List.of();
+    }
+}
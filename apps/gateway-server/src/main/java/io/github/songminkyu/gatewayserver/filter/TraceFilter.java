@@ -0,0 +1,51 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tracks every request with a correlation id: reuses the client's {@code X-Correlation-Id}
+ * or generates one, mutating the request only in that case, and echoes it on the response
+ * just before commit. The id is also put into the Reactor context under
+ * {@link FilterUtility#CORRELATION_ID_CONTEXT_KEY}, which context propagation copies into
+ * the logging MDC through the accessor registered by {@code LoggingConfig}.
+ */
+@Order(1)
+@Slf4j
+@Component
+public class TraceFilter implements GlobalFilter {
+
+    private final FilterUtility filterUtility;
+
+    public TraceFilter(FilterUtility filterUtility) {
+        this.filterUtility = filterUtility;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String incoming = filterUtility.getCorrelationId(exchange.getRequest().getHeaders());
+        String correlationId = incoming != null ? incoming : filterUtility.generateCorrelationId();
+        if (incoming != null) {
+            log.debug("Tracked request with correlation id : {}", correlationId);
+        } else {
+            exchange = exchange.mutate()
+                .request(request -> request.header(FilterUtility.CORRELATION_ID, correlationId))
+                .build();
+            log.debug("correlation id generated in TraceFilter : {}", correlationId);
+        }
+        var response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().putIfAbsent(FilterUtility.CORRELATION_ID, List.of(correlationId));
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+            .contextWrite(context -> context.put(FilterUtility.CORRELATION_ID_CONTEXT_KEY, correlationId));
+    }
+
+}
@@ -0,0 +1,141 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import io.github.songminkyu.gatewayserver.config.ConcurrencyLimitDefaults;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Gradient-style adaptive concurrency limit for one route.
+ *
+ * <p>The limit follows the ratio between a long-term exponentially averaged latency and the
+ * latest sample: when a backend slows down relative to its baseline, the limit shrinks
+ * before requests queue up; while latency stays near the baseline it grows by roughly
+ * {@code sqrt(limit)} per sample. Failed calls back off the limit multiplicatively.</p>
+ *
+ * <p>The limiter registers its meters on creation and removes them again on {@link #close()}.</p>
+ */
+public class AdaptiveConcurrencyLimiter implements AutoCloseable {
+
+    private static final String LIMIT_METRIC_NAME = "gateway.concurrency.limit";
+    private static final String IN_FLIGHT_METRIC_NAME = "gateway.concurrency.in-flight";
+    private static final String REJECTED_METRIC_NAME = "gateway.concurrency.rejected";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final List<Meter> meters;
+    private volatile Settings settings;
+    private volatile double limit;
+    private double longRtt;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(String routeId, Settings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder(REJECTED_METRIC_NAME)
+            .tag("route", routeId)
+            .description("Requests rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+        this.meters = List.of(
+            rejected,
+            Gauge.builder(LIMIT_METRIC_NAME, this, limiter -> limiter.limit)
+                .tag("route", routeId)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry),
+            Gauge.builder(IN_FLIGHT_METRIC_NAME, inFlight, AtomicInteger::get)
+                .tag("route", routeId)
+                .description("Requests currently in flight to the route's backend")
+                .register(meterRegistry));
+    }
+
+    public void setSettings(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Reserves a slot, returning the number of requests in flight including this one, or
+     * {@code -1} when the limit is reached.
+     */
+    public int tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return -1;
+        }
+        return current;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Feeds a completed call back into the limit.
+     *
+     * @param rttNanos   latency of the call
+     * @param inFlightAtStart requests in flight when the call started
+     * @param dropped    whether the call failed or timed out
+     */
+    public synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        var current = settings;
+        double newLimit;
+        if (dropped) {
+            newLimit = limit * current.getBackoffRatio();
+        } else {
+            longRtt = samples++ == 0
+                ? rttNanos
+                : longRtt + (rttNanos - longRtt) * 2.0 / (Math.min(samples, current.getLongWindow()) + 1);
+            if (longRtt / rttNanos > 2) {
+                // recover faster when the baseline was inflated by a past slowdown
+                longRtt *= 0.95;
+            }
+            if (inFlightAtStart < limit / 2) {
+                // the backend was not the bottleneck, so the sample says nothing about the limit
+                return;
+            }
+            double gradient = Math.clamp(current.getTolerance() * longRtt / rttNanos, 0.5, 1.0);
+            newLimit = limit * gradient + Math.sqrt(limit);
+        }
+        newLimit = limit * (1 - current.getSmoothing()) + newLimit * current.getSmoothing();
+        limit = Math.clamp(newLimit, current.getMinLimit(), current.getMaxLimit());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Removes the route's meters once the route is gone.
+     */
+    @Override
+    public void close() {
+        meters.forEach(meterRegistry::remove);
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+
+        private int initialLimit = ConcurrencyLimitDefaults.INITIAL_LIMIT;
+
+        private int minLimit = ConcurrencyLimitDefaults.MIN_LIMIT;
+
+        private int maxLimit = ConcurrencyLimitDefaults.MAX_LIMIT;
+
+        private double smoothing = ConcurrencyLimitDefaults.SMOOTHING;
+
+        private double tolerance = ConcurrencyLimitDefaults.TOLERANCE;
+
+        private double backoffRatio = ConcurrencyLimitDefaults.BACKOFF_RATIO;
+
+        private int longWindow = ConcurrencyLimitDefaults.LONG_WINDOW;
+    }
+}
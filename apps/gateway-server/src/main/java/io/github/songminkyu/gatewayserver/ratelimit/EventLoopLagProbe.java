@@ -0,0 +1,64 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how late the Netty event loops run a task scheduled at a fixed delay. A loop busy
+ * with blocking or CPU-heavy work runs the probe late, so the lag grows before request
+ * latencies do; a loop that has not run its probe at all counts as lagging since the probe
+ * was due.
+ */
+public class EventLoopLagProbe implements AutoCloseable {
+
+    private final List<Probe> probes = new ArrayList<>();
+
+    public EventLoopLagProbe(EventLoopGroup eventLoopGroup, long interval) {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        for (EventExecutor executor : eventLoopGroup) {
+            probes.add(new Probe(executor, intervalNanos));
+        }
+    }
+
+    /**
+     * Returns the largest current lag across the event loops, in nanoseconds.
+     */
+    public long lag() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (var probe : probes) {
+            lag = Math.max(lag, Math.max(probe.lag, now - probe.due));
+        }
+        return lag;
+    }
+
+    @Override
+    public void close() {
+        probes.forEach(probe -> probe.future.cancel(false));
+    }
+
+    private static final class Probe implements Runnable {
+
+        private final long intervalNanos;
+        private final ScheduledFuture<?> future;
+        private volatile long due;
+        private volatile long lag;
+
+        private Probe(EventExecutor executor, long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+            this.due = System.nanoTime() + intervalNanos;
+            this.future = executor.scheduleWithFixedDelay(this, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            lag = Math.max(0, now - due);
+            due = now + intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import io.github.songminkyu.gatewayserver.config.RateLimiterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * In-memory token bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter}
+ * that answers without a Redis round trip.
+ *
+ * <p>Each key is an {@link AtomicLong} holding the GCRA theoretical arrival time, so a
+ * decision is one CAS on a {@link ConcurrentHashMap} bin and buckets that are fully refilled
+ * carry no state worth keeping. Keys are bounded per route; past the bound a background sweep
+ * drops the refilled buckets, then the least recently accessed ones that still admit requests.
+ * Buckets that are throttling their key are kept until they drain, so a client cannot reset
+ * its limit by churning through fresh keys.</p>
+ *
+ * <p>When the gateway runs on several nodes, {@link #setClusterSize(int)} divides the
+ * configured rate and burst between them so the cluster-wide limit holds without
+ * coordinating on every request.</p>
+ */
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final String REQUESTS_METRIC_NAME = "gateway.ratelimiter.requests";
+    private static final String KEYS_METRIC_NAME = "gateway.ratelimiter.keys";
+    private static final String EVICTIONS_METRIC_NAME = "gateway.ratelimiter.evictions";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final RateLimiterProperties rateLimiterProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteBuckets> routes = new ConcurrentHashMap<>();
+    private volatile int clusterSize = 1;
+
+    public LocalRateLimiter(
+        RateLimiterProperties rateLimiterProperties,
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.rateLimiterProperties = rateLimiterProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        var config = getConfig().get(routeId);
+        if (config == null) {
+            return Mono.error(new IllegalArgumentException("No Configuration found for route " + routeId));
+        }
+        var buckets = routes.computeIfAbsent(routeId, RouteBuckets::new);
+        long remaining = buckets.tryAcquire(id, config);
+        boolean allowed = remaining >= 0;
+        (allowed ? buckets.allowed : buckets.denied).increment();
+        return Mono.just(new Response(allowed, headers(config, allowed ? remaining : -remaining - 1)));
+    }
+
+    /**
+     * Sets the number of gateway nodes sharing the configured limits.
+     */
+    public void setClusterSize(int clusterSize) {
+        int size = Math.max(1, clusterSize);
+        if (this.clusterSize != size) {
+            log.info("Rate limits are now shared by {} gateway node(s)", size);
+            this.clusterSize = size;
+        }
+    }
+
+    private Map<String, String> headers(Config config, long remaining) {
+        if (!rateLimiterProperties.isIncludeHeaders()) {
+            return Map.of();
+        }
+        return Map.of(
+            RedisRateLimiter.REMAINING_HEADER, String.valueOf(remaining),
+            RedisRateLimiter.REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+            RedisRateLimiter.BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+            RedisRateLimiter.REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+    }
+
+    private final class RouteBuckets {
+
+        private final String routeId;
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+        private final Counter allowed;
+        private final Counter denied;
+        private final Counter evictions;
+
+        private RouteBuckets(String routeId) {
+            this.routeId = routeId;
+            this.allowed = requests("allowed", "Number of requests admitted by the local rate limiter");
+            this.denied = requests("denied", "Number of requests rejected by the local rate limiter");
+            this.evictions = Counter.builder(EVICTIONS_METRIC_NAME)
+                .tag("route", routeId)
+                .description("Number of rate limiter keys evicted to bound memory")
+                .register(meterRegistry);
+            Gauge.builder(KEYS_METRIC_NAME, buckets, Map::size)
+                .tag("route", routeId)
+                .description("Number of keys tracked by the local rate limiter")
+                .register(meterRegistry);
+        }
+
+        private Counter requests(String result, String description) {
+            return Counter.builder(REQUESTS_METRIC_NAME)
+                .tag("route", routeId)
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+        }
+
+        /**
+         * Returns the tokens left after admitting the request, or {@code -remaining - 1}
+         * when the request is rejected.
+         */
+        private long tryAcquire(String id, Config config) {
+            int nodes = clusterSize;
+            long interval = NANOS_PER_SECOND * nodes / config.getReplenishRate();
+            long burst = Math.max(config.getRequestedTokens(), config.getBurstCapacity() / nodes);
+            long tolerance = interval * burst;
+            long increment = interval * config.getRequestedTokens();
+            long now = System.nanoTime();
+
+            var bucket = buckets.get(id);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(id, key -> new Bucket(now));
+                if (buckets.size() > rateLimiterProperties.getMaxKeysPerRoute()) {
+                    scheduleEviction(tolerance - increment);
+                }
+            }
+            bucket.lastAccess = now;
+            while (true) {
+                long arrival = bucket.get();
+                long base = Math.max(arrival, now);
+                long next = base + increment;
+                if (next - now > tolerance) {
+                    return -((tolerance - (base - now)) / interval) - 1;
+                }
+                if (bucket.compareAndSet(arrival, next)) {
+                    return (tolerance - (next - now)) / interval;
+                }
+            }
+        }
+
+        private void scheduleEviction(long admitHorizon) {
+            if (evicting.compareAndSet(false, true)) {
+                Schedulers.boundedElastic().schedule(() -> {
+                    try {
+                        evict(admitHorizon);
+                    } finally {
+                        evicting.set(false);
+                    }
+                });
+            }
+        }
+
+        /**
+         * Evicts down to the target size, never touching a bucket whose arrival time lies past
+         * {@code admitHorizon} from now, since such a bucket is rejecting its key.
+         */
+        private void evict(long admitHorizon) {
+            long target = (long) (rateLimiterProperties.getMaxKeysPerRoute() * EVICTION_TARGET);
+            long now = System.nanoTime();
+            int evicted = 0;
+            List<Candidate> candidates = new ArrayList<>();
+            for (var entry : buckets.entrySet()) {
+                var bucket = entry.getValue();
+                long ahead = bucket.get() - now;
+                // a bucket whose arrival time has passed is full and indistinguishable from an absent one
+                if (ahead <= 0 && buckets.remove(entry.getKey(), bucket)) {
+                    evicted++;
+                } else if (ahead > 0 && ahead <= admitHorizon) {
+                    candidates.add(new Candidate(entry.getKey(), bucket, bucket.lastAccess));
+                }
+            }
+            long excess = buckets.size() - target;
+            if (excess > 0) {
+                candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess() - now));
+                for (var candidate : candidates) {
+                    if (excess <= 0) {
+                        break;
+                    }
+                    // skip keys seen again since the scan, they are no longer the least recent
+                    if (candidate.bucket().lastAccess == candidate.lastAccess()
+                        && buckets.remove(candidate.key(), candidate.bucket())) {
+                        evicted++;
+                        excess--;
+                    }
+                }
+            }
+            if (evicted > 0) {
+                evictions.increment(evicted);
+                log.debug("Evicted {} rate limiter key(s) from route {}", evicted, routeId);
+            }
+            if (excess > 0) {
+                log.debug("Route {} keeps {} key(s) over its bound while they are throttled", routeId, excess);
+            }
+        }
+
+        private record Candidate(String key, Bucket bucket, long lastAccess) {
+        }
+    }
+
+    /**
+     * GCRA theoretical arrival time of one key, plus when the key was last seen.
+     */
+    private static final class Bucket extends AtomicLong {
+
+        private volatile long lastAccess;
+
+        private Bucket(long now) {
+            super(now);
+            this.lastAccess = now;
+        }
+    }
+
+    @Validated
+    @Getter
+    @Setter
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate;
+
+        @Min(0)
+        private long burstCapacity = 1;
+
+        @Min(1)
+        private int requestedTokens = 1;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+/**
+ * Admission classes used by load shedding, from the last to be shed to the first.
+ */
+public enum RequestPriority {
+    /** Health probes and other traffic that is never shed. */
+    CRITICAL,
+    /** Reads by authenticated customers. */
+    HIGH,
+    /** Everything not classified otherwise, such as writes. */
+    NORMAL,
+    /** Bulk, administrative and documentation traffic. */
+    LOW
+}
@@ -0,0 +1,22 @@
+package io.github.songminkyu.gatewayserver.security.oauth2;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * A decoded {@link Jwt} that carries the authorities derived from its claims, so cached
+ * tokens skip {@link JwtGrantedAuthorityConverter} as well as signature verification.
+ */
+@Getter
+public class CachedJwt extends Jwt {
+
+    private final Collection<GrantedAuthority> authorities;
+
+    public CachedJwt(Jwt jwt, Collection<GrantedAuthority> authorities) {
+        super(jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getHeaders(), jwt.getClaims());
+        this.authorities = List.copyOf(authorities);
+    }
+}
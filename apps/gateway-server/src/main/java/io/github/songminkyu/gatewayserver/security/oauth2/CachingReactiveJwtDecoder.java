@@ -0,0 +1,100 @@
+package io.github.songminkyu.gatewayserver.security.oauth2;
+
+import io.github.songminkyu.gatewayserver.config.JwtCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches successfully decoded tokens, together with their granted authorities, until the
+ * token expires. Entries are keyed by the SHA-256 of the token so raw bearer tokens are not
+ * retained as map keys, and the cache is bounded by LRU eviction.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private static final String REQUESTS_METRIC_NAME = "gateway.jwt.cache";
+    private static final String SIZE_METRIC_NAME = "gateway.jwt.cache.size";
+
+    private final ReactiveJwtDecoder delegate;
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private final JwtCacheProperties jwtCacheProperties;
+    private final Map<String, CachedJwt> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingReactiveJwtDecoder(
+        ReactiveJwtDecoder delegate,
+        Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+        JwtCacheProperties jwtCacheProperties,
+        MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.authoritiesConverter = authoritiesConverter;
+        this.jwtCacheProperties = jwtCacheProperties;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedJwt> eldest) {
+                return size() > jwtCacheProperties.getMaxEntries();
+            }
+        });
+        this.hits = Counter.builder(REQUESTS_METRIC_NAME)
+            .tag("result", "hit")
+            .description("Bearer tokens answered from the decoded token cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS_METRIC_NAME)
+            .tag("result", "miss")
+            .description("Bearer tokens that had their signature verified")
+            .register(meterRegistry);
+        Gauge.builder(SIZE_METRIC_NAME, entries, Map::size)
+            .description("Number of decoded tokens held in the cache")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        if (!jwtCacheProperties.isEnabled()) {
+            return delegate.decode(token);
+        }
+        String key = sha256(token);
+        var cached = entries.get(key);
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(Instant.now())) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+            entries.remove(key);
+        }
+        misses.increment();
+        return delegate.decode(token).map(jwt -> {
+            var decoded = new CachedJwt(jwt, authoritiesConverter.convert(jwt));
+            if (jwt.getExpiresAt() != null) {
+                entries.put(key, decoded);
+            }
+            return decoded;
+        });
+    }
+
+    private static String sha256(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
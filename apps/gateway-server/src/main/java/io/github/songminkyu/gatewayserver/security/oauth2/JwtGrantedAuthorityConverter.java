@@ -10,6 +10,9 @@ public class JwtGrantedAuthorityConverter implements Converter<Jwt, Collection<G
 
     @Override
     public Collection<GrantedAuthority> convert(Jwt jwt) {
+        if (jwt instanceof CachedJwt cachedJwt) {
+            return cachedJwt.getAuthorities();
+        }
         return SecurityUtils.extractAuthorityFromClaims(jwt.getClaims());
     }
 
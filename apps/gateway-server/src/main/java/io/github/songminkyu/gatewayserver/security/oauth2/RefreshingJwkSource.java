@@ -0,0 +1,130 @@
+package io.github.songminkyu.gatewayserver.security.oauth2;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.songminkyu.gatewayserver.config.JwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * JWK source that keeps the JWK set in memory and refreshes it in the background, so
+ * signature verification never waits on the authorization server. A token signed with an
+ * unknown key id triggers one shared refresh, at most once per minimum refresh interval.
+ */
+@Slf4j
+public class RefreshingJwkSource implements Function<SignedJWT, Flux<JWK>>, AutoCloseable {
+
+    private static final String REFRESH_METRIC_NAME = "gateway.jwt.jwks.refresh";
+
+    private final String jwkSetUri;
+    private final JwtCacheProperties.Jwks jwksProperties;
+    private final WebClient webClient = WebClient.create();
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>();
+    private final AtomicReference<Mono<JWKSet>> refreshing = new AtomicReference<>();
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private volatile long lastRefresh;
+    private Disposable schedule;
+
+    public RefreshingJwkSource(String jwkSetUri, JwtCacheProperties.Jwks jwksProperties, MeterRegistry meterRegistry) {
+        this.jwkSetUri = jwkSetUri;
+        this.jwksProperties = jwksProperties;
+        this.refreshSuccess = refreshTimer(meterRegistry, "success");
+        this.refreshFailure = refreshTimer(meterRegistry, "failure");
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(REFRESH_METRIC_NAME)
+            .tag("outcome", outcome)
+            .description("Latency of fetching the JWK set from the authorization server")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Prefetches the JWK set and schedules periodic refreshes.
+     */
+    public void start() {
+        schedule = Flux.interval(Duration.ZERO, Duration.ofMillis(jwksProperties.getRefreshInterval()))
+            .concatMap(tick -> refresh().onErrorResume(e -> Mono.empty()))
+            .subscribe();
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        var selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        var current = jwkSet.get();
+        if (current != null) {
+            var keys = selector.select(current);
+            if (!keys.isEmpty()) {
+                return Flux.fromIterable(keys);
+            }
+            if (System.nanoTime() - lastRefresh < TimeUnit.MILLISECONDS.toNanos(jwksProperties.getMinRefreshInterval())) {
+                return Flux.empty();
+            }
+        }
+        // unknown key id, most likely a key rotation
+        return refresh().flatMapIterable(selector::select);
+    }
+
+    private Mono<JWKSet> refresh() {
+        while (true) {
+            var inFlight = refreshing.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            var refresh = fetch()
+                .doFinally(signal -> refreshing.set(null))
+                .cache();
+            if (refreshing.compareAndSet(null, refresh)) {
+                return refresh;
+            }
+        }
+    }
+
+    private Mono<JWKSet> fetch() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(body -> {
+                    try {
+                        return JWKSet.parse(body);
+                    } catch (ParseException e) {
+                        throw new IllegalStateException("Invalid JWK set from " + jwkSetUri, e);
+                    }
+                })
+                .doOnNext(keys -> {
+                    jwkSet.set(keys);
+                    lastRefresh = System.nanoTime();
+                    refreshSuccess.record(lastRefresh - start, TimeUnit.NANOSECONDS);
+                    log.debug("Refreshed JWK set with {} key(s)", keys.getKeys().size());
+                })
+                .doOnError(e -> {
+                    refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.warn("Could not refresh JWK set from {}: {}", jwkSetUri, e.getMessage());
+                });
+        });
+    }
+
+    @Override
+    public void close() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.songminkyu.gatewayserver.filter.FilterTimingWebHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+
+class FilterTimingConfigTest {
+
+    private final BeanPostProcessor postProcessor = postProcessor();
+
+    @Test
+    void testGatewayWebHandlerIsSwappedForTheTimingOne() {
+        var swapped = postProcessor.postProcessAfterInitialization(
+            new FilteringWebHandler(List.of()), "filteringWebHandler");
+
+        assertThat(swapped).isInstanceOf(FilterTimingWebHandler.class);
+        assertThat(postProcessor.postProcessAfterInitialization(swapped, "filteringWebHandler")).isSameAs(swapped);
+    }
+
+    @Test
+    void testOtherBeansAreLeftAlone() {
+        var bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BeanPostProcessor postProcessor() {
+        ObjectProvider<List<GlobalFilter>> globalFilters = mock(ObjectProvider.class);
+        when(globalFilters.getObject()).thenReturn(List.of());
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("filterTimingProperties", new FilterTimingProperties());
+        beanFactory.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+        return FilterTimingConfig.filterTimingWebHandlerPostProcessor(
+            globalFilters,
+            beanFactory.getBeanProvider(FilterTimingProperties.class),
+            beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.songminkyu.gatewayserver.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.songminkyu.gatewayserver.ratelimit.LocalRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import reactor.core.publisher.Flux;
+
+class RateLimiterConfigTest {
+
+    private final RateLimiterConfig rateLimiterConfig = new RateLimiterConfig();
+    private final RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+    private final LocalRateLimiter localRateLimiter = mock(LocalRateLimiter.class);
+
+    @Test
+    void testClusterSizeFollowsDiscoveredNodes() {
+        var discoveryClient = mock(ReactiveDiscoveryClient.class);
+        when(discoveryClient.getInstances("gateway-server"))
+            .thenReturn(Flux.just(mock(ServiceInstance.class), mock(ServiceInstance.class)));
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("discoveryClient", discoveryClient);
+
+        var sync = rateLimiterConfig.rateLimiterClusterSync(
+            localRateLimiter, beanFactory.getBeanProvider(ReactiveDiscoveryClient.class), rateLimiterProperties);
+
+        try {
+            verify(localRateLimiter, timeout(5000)).setClusterSize(2);
+        } finally {
+            sync.dispose();
+        }
+    }
+
+    @Test
+    void testSyncIsSkippedWithoutDiscoveryClient() {
+        var sync = rateLimiterConfig.rateLimiterClusterSync(localRateLimiter,
+            new StaticListableBeanFactory().getBeanProvider(ReactiveDiscoveryClient.class), rateLimiterProperties);
+
+        assertThat(sync.isDisposed()).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import reactor.core.publisher.Flux;
+
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimitGatewayFilterFactory factory =
+        new AdaptiveConcurrencyLimitGatewayFilterFactory(meterRegistry);
+
+    @Test
+    void testRefreshDropsMetersOfRemovedRoutesOnly() {
+        factory.apply(config("card"));
+        factory.apply(config("loan"));
+
+        factory.onApplicationEvent(new RefreshRoutesResultEvent(routes("loan")));
+
+        assertThat(meterRegistry.find("gateway.concurrency.limit").tag("route", "card").gauge()).isNull();
+        assertThat(meterRegistry.find("gateway.concurrency.rejected").tag("route", "card").counter()).isNull();
+        assertThat(meterRegistry.find("gateway.concurrency.limit").tag("route", "loan").gauge()).isNotNull();
+    }
+
+    @Test
+    void testRouteAddedBackStartsWithFreshMeters() {
+        factory.apply(config("card"));
+        factory.onApplicationEvent(new RefreshRoutesResultEvent(routes()));
+
+        factory.apply(config("card"));
+
+        assertThat(meterRegistry.get("gateway.concurrency.limit").tag("route", "card").gauge().value())
+            .isEqualTo(config("card").getInitialLimit());
+    }
+
+    @Test
+    void testFailedRefreshKeepsLimiters() {
+        factory.apply(config("card"));
+
+        factory.onApplicationEvent(new RefreshRoutesResultEvent(routes(), new IllegalStateException()));
+
+        assertThat(meterRegistry.find("gateway.concurrency.limit").tag("route", "card").gauge()).isNotNull();
+    }
+
+    private static AdaptiveConcurrencyLimitGatewayFilterFactory.Config config(String routeId) {
+        var config = new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+        config.setRouteId(routeId);
+        return config;
+    }
+
+    private static RouteLocator routes(String... routeIds) {
+        return () -> Flux.fromStream(Arrays.stream(routeIds).map(routeId -> Route.async()
+            .id(routeId)
+            .uri("http://" + routeId)
+            .predicate(exchange -> true)
+            .build()));
+    }
+}
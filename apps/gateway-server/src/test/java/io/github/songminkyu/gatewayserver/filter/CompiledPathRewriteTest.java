@@ -0,0 +1,41 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class CompiledPathRewriteTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "/eazybank/account/(?<segment>.*), /${segment}, /eazybank/account/api/fetch",
+        "/eazybank/account/(?<segment>.*), /${segment}, /eazybank/loan/api/fetch",
+        "/eazybank/account/(?<segment>.*), /v1/${segment}, /gateway/eazybank/account/api/fetch",
+        "/eazybank/account/(.*), /$1, /eazybank/account/api/fetch",
+        "/accounts?/(.*), /$1, /account/x",
+        "/accounts?/(.*), /$1, /accounts/x",
+        "/accounts*/(.*), /$1, /account/x",
+        "/accounts+/(.*), /$1, /accountss/x",
+        "'/accounts{0,1}/(.*)', /$1, /account/x",
+        "/account|/loan, /api, /loan/x",
+        "/api/v1/(?<segment>.*), /${segment}, /api/v1/",
+        "/api/v1/(?<segment>.*), /$\\{segment}, /api/v1/fetch",
+        "/api/(?<version>v\\d)/(?<segment>.*), /${segment}/${version}, /api/v2/fetch",
+    })
+    void testRewriteMatchesReplaceAll(String regexp, String replacement, String path) {
+        var expected = path.replaceAll(regexp, replacement.replace("$\\", "$"));
+
+        assertThat(CompiledPathRewrite.compile(regexp, replacement).rewrite(path)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/accounts?/(.*), /$1, /account/x, /x",
+        "/accounts*/(.*), /$1, /account/x, /x",
+        "/account|/loan, /api, /loan/x, /api/x",
+    })
+    void testOptionalLastLiteralStillRewrites(String regexp, String replacement, String path, String expected) {
+        assertThat(CompiledPathRewrite.compile(regexp, replacement).rewrite(path)).isEqualTo(expected);
+    }
+}
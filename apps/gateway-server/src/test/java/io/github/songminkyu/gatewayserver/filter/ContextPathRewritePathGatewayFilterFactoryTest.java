@@ -0,0 +1,49 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class ContextPathRewritePathGatewayFilterFactoryTest {
+
+    private final ContextPathRewritePathGatewayFilterFactory factory = new ContextPathRewritePathGatewayFilterFactory();
+
+    @Test
+    void testMatchingPathIsRewritten() {
+        var forwarded = filter("/eazybank/account/(?<segment>.*)", "/${segment}", "/eazybank/account/api/fetch");
+
+        assertThat(forwarded.getRequest().getURI().getRawPath()).isEqualTo("/api/fetch");
+        assertThat(forwarded.getRequest().getPath().contextPath().value()).isEmpty();
+        assertThat(forwarded.<URI>getAttribute(GATEWAY_REQUEST_URL_ATTR)).hasPath("/api/fetch");
+    }
+
+    @Test
+    void testUnmatchedPathStillResetsContextPathAndRequestUrl() {
+        var forwarded = filter("/eazybank/account/(?<segment>.*)", "/${segment}", "/eazybank/loan/api/fetch");
+
+        assertThat(forwarded.getRequest().getURI().getRawPath()).isEqualTo("/eazybank/loan/api/fetch");
+        assertThat(forwarded.getRequest().getPath().contextPath().value()).isEmpty();
+        assertThat(forwarded.<URI>getAttribute(GATEWAY_REQUEST_URL_ATTR)).hasPath("/eazybank/loan/api/fetch");
+    }
+
+    private ServerWebExchange filter(String regexp, String replacement, String path) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost" + path));
+        var forwarded = new AtomicReference<ServerWebExchange>();
+        var config = new RewritePathGatewayFilterFactory.Config().setRegexp(regexp).setReplacement(replacement);
+
+        factory.apply(config).filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+
+        return forwarded.get();
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.songminkyu.gatewayserver.cache.EdgeResponseCache;
+import io.github.songminkyu.gatewayserver.config.EdgeCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class EdgeCacheGatewayFilterFactoryTest {
+
+    private static final String PATH = "/eazybank/account/api/build-info";
+    private static final String SPRING_SECURITY_CACHE_CONTROL = "no-cache, no-store, max-age=0, must-revalidate";
+
+    private final EdgeCacheProperties edgeCacheProperties = new EdgeCacheProperties();
+    private final EdgeCacheGatewayFilterFactory factory = new EdgeCacheGatewayFilterFactory(
+        new EdgeResponseCache(edgeCacheProperties, new SimpleMeterRegistry()), edgeCacheProperties);
+    private final List<ServerHttpRequest> upstream = new ArrayList<>();
+
+    @Test
+    void testConfiguredRouteIsCachedDespiteBackendNoCacheHeaders() {
+        var filter = factory.apply(config("max-age=60"));
+
+        var first = get(filter, request -> { });
+        var second = get(filter, request -> { });
+
+        assertThat(upstream).hasSize(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getBodyAsString().block()).isEqualTo("1.0.0");
+        assertThat(second.getHeaders().getCacheControl()).isEqualTo("max-age=60");
+        assertThat(second.getHeaders().containsKey(HttpHeaders.PRAGMA)).isFalse();
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("max-age=60");
+    }
+
+    @Test
+    void testBackendNoCacheHeadersAreHonouredWithoutPolicy() {
+        var filter = factory.apply(config(null));
+
+        get(filter, request -> { });
+        var second = get(filter, request -> { });
+
+        assertThat(upstream).hasSize(2);
+        assertThat(second.getHeaders().getCacheControl()).isEqualTo(SPRING_SECURITY_CACHE_CONTROL);
+    }
+
+    @Test
+    void testResponsesAreNotSharedAcrossCredentials() {
+        var filter = factory.apply(config("max-age=60"));
+
+        get(filter, request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        get(filter, request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+        get(filter, request -> { });
+        get(filter, request -> request.header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+
+        assertThat(upstream).hasSize(3);
+    }
+
+    @Test
+    void testConditionalRequestIsAnsweredAtTheEdge() {
+        var filter = factory.apply(config("max-age=60"));
+        var etag = get(filter, request -> { }).getHeaders().getETag();
+
+        var revalidated = get(filter, request -> request.ifNoneMatch(etag));
+
+        assertThat(upstream).hasSize(1);
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void testClientValidatorsAreNotForwardedOnMiss() {
+        var filter = factory.apply(config("max-age=60"));
+        var etag = get(filter, request -> request.header("X-Cold", "1")).getHeaders().getETag();
+        upstream.clear();
+
+        var response = get(filter, request -> request.ifNoneMatch(etag));
+
+        assertThat(upstream).singleElement()
+            .satisfies(request -> assertThat(request.getHeaders().getIfNoneMatch()).isEmpty());
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void testGeneratedEtagIsNotSentUpstreamOnRevalidation() throws InterruptedException {
+        var config = config(null);
+        config.setTimeToLive(1L);
+        var filter = factory.apply(config);
+        get(filter, request -> { }, false);
+        Thread.sleep(5);
+
+        var revalidated = get(filter, request -> { }, false);
+
+        assertThat(upstream).hasSize(2);
+        assertThat(upstream.get(1).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(revalidated.getBodyAsString().block()).isEqualTo("1.0.0");
+    }
+
+    private static EdgeCacheGatewayFilterFactory.Config config(String cacheControl) {
+        var config = new EdgeCacheGatewayFilterFactory.Config();
+        config.setPathPatterns(List.of("/eazybank/account/api/{info:build-info|contact-info|java-version}"));
+        config.setHeaders(List.of("X-Cold"));
+        config.setCacheControl(cacheControl);
+        return config;
+    }
+
+    private MockServerHttpResponse get(GatewayFilter filter, Consumer<MockServerHttpRequest.BaseBuilder<?>> request) {
+        return get(filter, request, true);
+    }
+
+    /**
+     * Runs a GET through the filter to a backend answering like the account service, which
+     * sends Spring Security's cache headers unless {@code springSecurityHeaders} is off.
+     */
+    private MockServerHttpResponse get(
+        GatewayFilter filter,
+        Consumer<MockServerHttpRequest.BaseBuilder<?>> request,
+        boolean springSecurityHeaders) {
+        var builder = MockServerHttpRequest.get("http://localhost" + PATH);
+        request.accept(builder);
+        var exchange = MockServerWebExchange.from(builder);
+        filter.filter(exchange, forwarded -> {
+            upstream.add(forwarded.getRequest());
+            var response = forwarded.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            if (springSecurityHeaders) {
+                response.getHeaders().setCacheControl(SPRING_SECURITY_CACHE_CONTROL);
+                response.getHeaders().setPragma("no-cache");
+                response.getHeaders().setExpires(0);
+            }
+            byte[] body = "1.0.0".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }).block();
+        return exchange.getResponse();
+    }
+}
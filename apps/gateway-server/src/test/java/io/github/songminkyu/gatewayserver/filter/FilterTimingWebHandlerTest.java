@@ -0,0 +1,177 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.config.FilterTimingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class FilterTimingWebHandlerTest {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FilterTimingProperties properties = new FilterTimingProperties();
+
+    /**
+     * Relay spends 50ms before handing on, Rewrite 30ms after its successor completed and
+     * Upstream 100ms without delegating.
+     */
+    private final List<GlobalFilter> globalFilters = List.of(
+        new DelayFilter("Upstream", Ordered.LOWEST_PRECEDENCE, Duration.ofMillis(100), null),
+        new DelayFilter("Relay", 1, Duration.ofMillis(50), Duration.ZERO));
+    private final Route route = Route.async()
+        .id("card")
+        .uri("http://card")
+        .predicate(exchange -> true)
+        .filter(new OrderedGatewayFilter(new DelayFilter("Rewrite", 0, Duration.ZERO, Duration.ofMillis(30)), 2))
+        .build();
+
+    @Test
+    void testTimersRecordEachFilterExcludingItsSuccessors() throws Exception {
+        var handler = new FilterTimingWebHandler(globalFilters, properties, meterRegistry);
+
+        handle(handler, exchange());
+
+        assertThat(millis("Relay")).isBetween(50.0, 90.0);
+        assertThat(millis("Rewrite")).isBetween(30.0, 70.0);
+        assertThat(millis("Upstream")).isBetween(100.0, 140.0);
+        assertThat(meterRegistry.get("gateway.filter.duration").tag("filter", "Relay").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.filter.timing.overhead").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTimeBeforeTheChainIsRecordedFromArrival() throws Exception {
+        var handler = new FilterTimingWebHandler(globalFilters, properties, meterRegistry);
+        var exchange = exchange();
+        exchange.getAttributes().put(FilterTimingWebHandler.ARRIVAL_ATTR,
+            System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(20));
+
+        handle(handler, exchange);
+
+        assertThat(millis("WebFilters")).isBetween(20.0, 60.0);
+    }
+
+    @Test
+    void testServerTimingReportsTimeBeforeHandingOnForAllowedCallers() {
+        properties.setServerTiming(true);
+        properties.setServerTimingThreshold(1000);
+        var handler = new FilterTimingWebHandler(globalFilters, properties, meterRegistry);
+        var exchange = authenticated(exchange(), "ROLE_ADMIN");
+
+        handler.handle(exchange).then(exchange.getResponse().setComplete()).block();
+
+        // Rewrite hands on at once and falls under the 1ms threshold
+        var durations = serverTiming(exchange);
+        assertThat(durations).containsOnlyKeys("Relay", "Upstream");
+        assertThat(durations.get("Relay")).isBetween(50.0, 90.0);
+        assertThat(durations.get("Upstream")).isBetween(100.0, 140.0);
+    }
+
+    @Test
+    void testServerTimingIsWithheldFromOtherCallers() {
+        properties.setServerTiming(true);
+        var handler = new FilterTimingWebHandler(globalFilters, properties, meterRegistry);
+        var anonymous = exchange();
+        var customer = authenticated(exchange(), "ROLE_CARD");
+
+        handler.handle(anonymous).then(anonymous.getResponse().setComplete()).block();
+        handler.handle(customer).then(customer.getResponse().setComplete()).block();
+
+        assertThat(anonymous.getResponse().getHeaders().get(SERVER_TIMING)).isNull();
+        assertThat(customer.getResponse().getHeaders().get(SERVER_TIMING)).isNull();
+    }
+
+    @Test
+    void testServerTimingIsOffByDefault() {
+        var handler = new FilterTimingWebHandler(globalFilters, properties, meterRegistry);
+        var exchange = authenticated(exchange(), "ROLE_ADMIN");
+
+        handler.handle(exchange).then(exchange.getResponse().setComplete()).block();
+
+        assertThat(exchange.getResponse().getHeaders().get(SERVER_TIMING)).isNull();
+    }
+
+    /**
+     * Runs the chain and waits for its timings, which are recorded once the chain terminates
+     * and may land after the caller was already signalled.
+     */
+    private void handle(FilterTimingWebHandler handler, ServerWebExchange exchange) throws InterruptedException {
+        var overhead = meterRegistry.get("gateway.filter.timing.overhead").timer();
+        long recorded = overhead.count();
+        handler.handle(exchange).block();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (overhead.count() == recorded && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double millis(String filter) {
+        return meterRegistry.get("gateway.filter.duration").tag("filter", filter).timer()
+            .totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private MockServerWebExchange exchange() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/card/api/fetch"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static ServerWebExchange authenticated(ServerWebExchange exchange, String... authorities) {
+        Principal principal = new TestingAuthenticationToken("john.doe", null, authorities);
+        return exchange.mutate().principal(Mono.just(principal)).build();
+    }
+
+    private static Map<String, Double> serverTiming(ServerWebExchange exchange) {
+        String header = exchange.getResponse().getHeaders().getFirst(SERVER_TIMING);
+        assertThat(header).isNotNull();
+        return Arrays.stream(header.split(", "))
+            .map(metric -> metric.split(";dur="))
+            .collect(Collectors.toMap(metric -> metric[0], metric -> Double.parseDouble(metric[1])));
+    }
+
+    /**
+     * Delays before handing the request on and after the rest of the chain completed, or only
+     * delays when there is no {@code after}, like the routing filter at the end of the chain.
+     */
+    private record DelayFilter(String name, int order, Duration before, Duration after)
+        implements GlobalFilter, GatewayFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            var delayed = Mono.delay(before).then();
+            return after == null
+                ? delayed
+                : delayed.then(chain.filter(exchange)).then(Mono.delay(after)).then();
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + name + "]";
+        }
+    }
+}
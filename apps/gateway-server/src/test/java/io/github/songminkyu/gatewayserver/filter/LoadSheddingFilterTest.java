@@ -0,0 +1,182 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.github.songminkyu.gatewayserver.config.LoadSheddingProperties;
+import io.github.songminkyu.gatewayserver.ratelimit.EventLoopLagProbe;
+import io.github.songminkyu.gatewayserver.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class LoadSheddingFilterTest {
+
+    private static final long MAX_EVENT_LOOP_LAG = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventLoopLagProbe lagProbe = mock(EventLoopLagProbe.class);
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void testRulesClassifyByRouteMethodPathAndAuthority() {
+        var properties = properties(
+            rule(RequestPriority.CRITICAL, rule -> rule.setPaths(List.of("/*/actuator/health/**"))),
+            rule(RequestPriority.LOW, rule -> rule.setRoutes(List.of("loan"))),
+            rule(RequestPriority.HIGH, rule -> {
+                rule.setMethods(List.of("get"));
+                rule.setAuthorities(List.of("ROLE_CARD"));
+            }));
+        var filter = filter(properties);
+        var read = authenticated(exchange("card", MockServerHttpRequest.get("/card/api/fetch")), "ROLE_CARD");
+        var write = authenticated(exchange("card", MockServerHttpRequest.post("/card/api/create")), "ROLE_CARD");
+
+        filter.filter(exchange("card", MockServerHttpRequest.get("/card/actuator/health/liveness")), chain).block();
+        filter.filter(exchange("loan", MockServerHttpRequest.get("/loan/api/fetch")), chain).block();
+        filter.filter(read, chain).block();
+        filter.filter(write, chain).block();
+        filter.filter(exchange("card", MockServerHttpRequest.get("/card/api/fetch")), chain).block();
+
+        assertThat(admitted(RequestPriority.CRITICAL)).isEqualTo(1);
+        assertThat(admitted(RequestPriority.LOW)).isEqualTo(1);
+        assertThat(admitted(RequestPriority.HIGH)).isEqualTo(1);
+        // a write, and a read without the authority, fall back to the default priority
+        assertThat(admitted(RequestPriority.NORMAL)).isEqualTo(2);
+    }
+
+    @Test
+    void testFirstMatchingRuleWins() {
+        var properties = properties(
+            rule(RequestPriority.HIGH, rule -> rule.setRoutes(List.of("card"))),
+            rule(RequestPriority.LOW, rule -> rule.setRoutes(List.of("card"))));
+
+        filter(properties).filter(exchange("card", MockServerHttpRequest.get("/card/api/fetch")), chain).block();
+
+        assertThat(admitted(RequestPriority.HIGH)).isEqualTo(1);
+        assertThat(admitted(RequestPriority.LOW)).isZero();
+    }
+
+    @Test
+    void testLowerPrioritiesAreShedFirstAsLagGrows() {
+        var properties = properties(
+            rule(RequestPriority.CRITICAL, rule -> rule.setRoutes(List.of("health"))),
+            rule(RequestPriority.HIGH, rule -> rule.setRoutes(List.of("card"))),
+            rule(RequestPriority.LOW, rule -> rule.setRoutes(List.of("swagger"))));
+        var filter = filter(properties);
+
+        assertThat(admittedAtLag(filter, 0.3)).containsExactly(true, true, true, true);
+        assertThat(admittedAtLag(filter, 0.6)).containsExactly(true, true, true, false);
+        assertThat(admittedAtLag(filter, 0.9)).containsExactly(true, true, false, false);
+        assertThat(admittedAtLag(filter, 3.0)).containsExactly(true, false, false, false);
+        assertThat(meterRegistry.get("gateway.load-shedding.requests")
+            .tag("priority", "low").tag("result", "shed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testRequestsInFlightCountTowardsPressure() {
+        var properties = properties(rule(RequestPriority.LOW, rule -> rule.setRoutes(List.of("swagger"))));
+        properties.setMaxInFlight(2);
+        var filter = filter(properties);
+        var pending = Sinks.<Void>empty();
+
+        filter.filter(exchange("card", MockServerHttpRequest.get("/card/api/fetch")), exchange -> pending.asMono())
+            .subscribe();
+        var shed = exchange("swagger", MockServerHttpRequest.get("/swagger-ui.html"));
+        filter.filter(shed, chain).block();
+        pending.tryEmitEmpty();
+        var admitted = exchange("swagger", MockServerHttpRequest.get("/swagger-ui.html"));
+        filter.filter(admitted, chain).block();
+
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(admitted.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.load-shedding.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void testShedRequestIsAnsweredWithRetryAfter() {
+        var properties = properties();
+        properties.setRetryAfter(5);
+        lag(1.0);
+        var exchange = exchange("card", MockServerHttpRequest.get("/card/api/fetch"));
+
+        filter(properties).filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(forwarded).hasValue(0);
+    }
+
+    private List<Boolean> admittedAtLag(LoadSheddingFilter filter, double pressure) {
+        lag(pressure);
+        return List.of("health", "card", "loan", "swagger").stream()
+            .map(routeId -> {
+                var exchange = exchange(routeId, MockServerHttpRequest.get("/" + routeId + "/api/fetch"));
+                filter.filter(exchange, chain).block();
+                return exchange.getResponse().getStatusCode() == null;
+            })
+            .toList();
+    }
+
+    private void lag(double pressure) {
+        when(lagProbe.lag()).thenReturn((long) (pressure * TimeUnit.MILLISECONDS.toNanos(MAX_EVENT_LOOP_LAG)));
+    }
+
+    private LoadSheddingFilter filter(LoadSheddingProperties properties) {
+        return new LoadSheddingFilter(properties, lagProbe, meterRegistry);
+    }
+
+    private double admitted(RequestPriority priority) {
+        return meterRegistry.get("gateway.load-shedding.requests")
+            .tag("priority", priority.name().toLowerCase()).tag("result", "admitted").counter().count();
+    }
+
+    private static LoadSheddingProperties properties(LoadSheddingProperties.Rule... rules) {
+        var properties = new LoadSheddingProperties();
+        properties.setMaxEventLoopLag(MAX_EVENT_LOOP_LAG);
+        properties.setRules(List.of(rules));
+        return properties;
+    }
+
+    private static LoadSheddingProperties.Rule rule(
+        RequestPriority priority, Consumer<LoadSheddingProperties.Rule> criteria) {
+        var rule = new LoadSheddingProperties.Rule();
+        rule.setPriority(priority);
+        criteria.accept(rule);
+        return rule;
+    }
+
+    private static MockServerWebExchange exchange(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        var exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+            .id(routeId)
+            .uri("http://" + routeId)
+            .predicate(candidate -> true)
+            .build());
+        return exchange;
+    }
+
+    private static ServerWebExchange authenticated(ServerWebExchange exchange, String... authorities) {
+        Principal principal = new TestingAuthenticationToken("john.doe", null, authorities);
+        return exchange.mutate().principal(Mono.just(principal)).build();
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.songminkyu.gatewayserver.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.songminkyu.gatewayserver.config.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final String CHUNK = "{\"accountNumber\":1}";
+    private static final String BODY = CHUNK + CHUNK;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingProperties coalescingProperties = new CoalescingProperties();
+    private final GatewayFilter filter = new RequestCoalescingGatewayFilterFactory(coalescingProperties, meterRegistry)
+        .apply(new RequestCoalescingGatewayFilterFactory.Config());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> leaderGate = Sinks.empty();
+
+    @BeforeEach
+    void setUp() {
+        coalescingProperties.setEnabled(true);
+        coalescingProperties.setMaxBodySize(1024);
+    }
+
+    @Test
+    void testFollowerGetsLeadersResponseWithoutGoingUpstream() {
+        var leader = exchange();
+        var follower = exchange();
+
+        var leading = filter.filter(leader, chain(headers -> headers.setContentLength(BODY.length()))).subscribe();
+        filter.filter(follower, chain(headers -> headers.setContentLength(BODY.length()))).subscribe();
+        leaderGate.tryEmitEmpty();
+
+        assertThat(leading.isDisposed()).isTrue();
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(body(leader)).isEqualTo(BODY);
+        assertThat(body(follower)).isEqualTo(BODY);
+        assertThat(follower.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(counter("collapsed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testBodyOverTheLimitIsNotShared() {
+        coalescingProperties.setMaxBodySize(4);
+
+        assertFollowerForwardedOnItsOwn(headers -> headers.setContentLength(BODY.length()));
+    }
+
+    @Test
+    void testBodyWithoutContentLengthIsNotShared() {
+        assertFollowerForwardedOnItsOwn(headers -> { });
+    }
+
+    @Test
+    void testEventStreamIsNotShared() {
+        assertFollowerForwardedOnItsOwn(headers -> {
+            headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+            headers.setContentLength(BODY.length());
+        });
+    }
+
+    @Test
+    void testBodyOutgrowingItsContentLengthPassesThrough() {
+        coalescingProperties.setMaxBodySize(CHUNK.length() + 1);
+
+        // the backend declares less than it sends
+        assertFollowerForwardedOnItsOwn(headers -> headers.setContentLength(1));
+    }
+
+    private void assertFollowerForwardedOnItsOwn(Consumer<HttpHeaders> upstreamHeaders) {
+        var leader = exchange();
+        var follower = exchange();
+
+        filter.filter(leader, chain(upstreamHeaders)).subscribe();
+        filter.filter(follower, chain(upstreamHeaders)).subscribe();
+        leaderGate.tryEmitEmpty();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(body(leader)).isEqualTo(BODY);
+        assertThat(counter("fallback")).isEqualTo(1.0);
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost/account/api/fetch"));
+    }
+
+    /**
+     * A backend answering after the leader gate opens, with {@link #BODY} in two chunks.
+     */
+    private GatewayFilterChain chain(Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            return leaderGate.asMono().then(Mono.defer(() -> {
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                headers.accept(response.getHeaders());
+                byte[] chunk = CHUNK.getBytes(StandardCharsets.UTF_8);
+                return response.writeWith(Flux.just(
+                    response.bufferFactory().wrap(chunk), response.bufferFactory().wrap(chunk)));
+            }));
+        };
+    }
+
+    private static String body(MockServerWebExchange exchange) {
+        return ((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter.Settings settings = new AdaptiveConcurrencyLimiter.Settings();
+
+    @Test
+    void testLimitGrowsWhileLatencyHoldsItsBaseline() {
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        saturate(limiter, BASELINE, 10);
+
+        assertThat(limiter.getLimit()).isGreaterThan(settings.getInitialLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesAboveTheBaseline() {
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+        saturate(limiter, BASELINE, 50);
+        int learned = limiter.getLimit();
+
+        // the backend slowed down fourfold
+        saturate(limiter, 4 * BASELINE, 10);
+
+        assertThat(limiter.getLimit()).isLessThan(learned);
+    }
+
+    @Test
+    void testSamplesBelowHalfTheLimitLeaveItUnchanged() {
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(BASELINE, settings.getInitialLimit() / 2 - 1, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(settings.getInitialLimit());
+    }
+
+    @Test
+    void testFailuresBackOffDownToTheMinimum() {
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        limiter.onSample(BASELINE, settings.getInitialLimit(), true);
+        assertThat(limiter.getLimit()).isLessThan(settings.getInitialLimit());
+
+        for (int i = 0; i < 500; i++) {
+            limiter.onSample(BASELINE, settings.getInitialLimit(), true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(settings.getMinLimit());
+    }
+
+    @Test
+    void testLimitIsCappedAtTheMaximum() {
+        settings.setMaxLimit(30);
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        saturate(limiter, BASELINE, 100);
+
+        assertThat(limiter.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    void testRequestsBeyondTheLimitAreRejected() {
+        settings.setInitialLimit(2);
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        assertThat(limiter.tryAcquire()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.concurrency.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testCloseRemovesTheMeters() {
+        var limiter = new AdaptiveConcurrencyLimiter("card", settings, meterRegistry);
+
+        limiter.close();
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    /**
+     * Feeds samples taken while the route used its whole limit.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            limiter.onSample(rttNanos, limiter.getLimit(), false);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EventLoopLagProbeTest {
+
+    private static final long INTERVAL = 10;
+
+    private final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(2);
+
+    @AfterEach
+    void tearDown() {
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testIdleLoopsDoNotLag() throws Exception {
+        try (var probe = new EventLoopLagProbe(eventLoopGroup, INTERVAL)) {
+            Thread.sleep(5 * INTERVAL);
+
+            assertThat(probe.lag()).isLessThan(TimeUnit.MILLISECONDS.toNanos(5 * INTERVAL));
+        }
+    }
+
+    @Test
+    void testBlockedLoopLagsUntilItRunsTheProbe() throws Exception {
+        try (var probe = new EventLoopLagProbe(eventLoopGroup, INTERVAL)) {
+            var blocked = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            eventLoopGroup.next().execute(() -> {
+                blocked.countDown();
+                await(release);
+            });
+            assertThat(blocked.await(1, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(20 * INTERVAL);
+
+            // the blocked loop has not run its probe, so it lags since the probe was due
+            assertThat(probe.lag()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10 * INTERVAL));
+
+            release.countDown();
+            Thread.sleep(5 * INTERVAL);
+
+            assertThat(probe.lag()).isLessThan(TimeUnit.MILLISECONDS.toNanos(10 * INTERVAL));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
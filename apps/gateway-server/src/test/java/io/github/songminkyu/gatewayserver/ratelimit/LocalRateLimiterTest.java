@@ -0,0 +1,87 @@
+package io.github.songminkyu.gatewayserver.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.songminkyu.gatewayserver.config.RateLimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+
+class LocalRateLimiterTest {
+
+    private static final String ROUTE = "card";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(rateLimiterProperties, null, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        rateLimiterProperties.setMaxKeysPerRoute(10);
+        var config = new LocalRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(10);
+        rateLimiter.getConfig().put(ROUTE, config);
+    }
+
+    @Test
+    void testThrottledKeysAreNeverEvicted() {
+        drain("client");
+        assertThat(request("client").isAllowed()).isFalse();
+        // a client rotating through keys it drains, hoping to push its own key out
+        for (int i = 1; i < 10; i++) {
+            drain("churn-" + i);
+        }
+
+        request("fresh");
+
+        assertThat(awaitEvictions(1)).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.ratelimiter.keys").gauge().value()).isEqualTo(10.0);
+        assertThat(request("client").isAllowed()).isFalse();
+    }
+
+    @Test
+    void testLeastRecentlyAccessedKeysAreEvictedFirst() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            request("key-" + i);
+            Thread.sleep(1);
+        }
+        request("key-0");
+        Thread.sleep(1);
+
+        request("key-10");
+
+        assertThat(awaitEvictions(2)).isEqualTo(2.0);
+        assertThat(meterRegistry.get("gateway.ratelimiter.keys").gauge().value()).isEqualTo(9.0);
+        assertThat(remaining(request("key-0"))).isEqualTo(7);
+        assertThat(remaining(request("key-3"))).isEqualTo(8);
+        // evicted while it was still admitting, so it starts over with a full bucket
+        assertThat(remaining(request("key-1"))).isEqualTo(9);
+    }
+
+    private void drain(String id) {
+        for (int i = 0; i < 10; i++) {
+            assertThat(request(id).isAllowed()).isTrue();
+        }
+    }
+
+    private Response request(String id) {
+        return rateLimiter.isAllowed(ROUTE, id).block();
+    }
+
+    private static long remaining(Response response) {
+        return Long.parseLong(response.getHeaders().get(RedisRateLimiter.REMAINING_HEADER));
+    }
+
+    private double awaitEvictions(double atLeast) {
+        var counter = meterRegistry.get("gateway.ratelimiter.evictions").counter();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter.count() < atLeast && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return counter.count();
+    }
+}
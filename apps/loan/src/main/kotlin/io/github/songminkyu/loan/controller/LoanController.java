@@ -1,5 +1,7 @@
 package io.github.songminkyu.loan.controller;
 
+import static io.github.songminkyu.loan.constants.Constants.APPLICATION_SMILE_VALUE;
+
 import com.github.loki4j.slf4j.marker.LabelMarker;
 import io.github.songminkyu.loan.constants.LoanConstants;
 import io.github.songminkyu.loan.dto.ErrorResponseDTO;
@@ -105,7 +107,7 @@ public class LoanController {
             schema = @Schema(implementation = ErrorResponseDTO.class)
         )
     )
-    @GetMapping("/loan")
+    @GetMapping(value = "/loan", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<LoanDTO> fetchLoanDetails(
         @RequestHeader("X-Correlation-Id") String correlationId,
         @RequestParam